@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Runs ThreadModeBenchmark against the app in platform-thread mode and then with the
+# "virtual" profile, same Hikari pool and Tomcat limits, and prints both results.
+#
+# Needs Postgres and MailDev running:  docker compose up -d
+#
+# usage: loadtest/compare-thread-modes.sh [clients] [duration-seconds]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CLIENTS=${1:-1000}
+DURATION=${2:-60}
+BASE_URL=${BASE_URL:-http://localhost:8080}
+
+./mvnw -q -DskipTests package
+JAR=target/WorkTrack-0.0.1-SNAPSHOT.jar
+
+for MODE in platform virtual; do
+
+  PROFILE_ARGS=()
+  if [ "$MODE" = "virtual" ]; then
+    PROFILE_ARGS=(--spring.profiles.active=virtual)
+  fi
+
+  # jdk.tracePinnedThreads prints a stack trace whenever a virtual thread pins its carrier.
+  # Auth rate limiting off: every simulated user registers and logs in from this one address
+  java -Djdk.tracePinnedThreads=short -jar "$JAR" "${PROFILE_ARGS[@]}" \
+    --app.security.rate-limit.enabled=false > "target/loadtest-$MODE.log" 2>&1 &
+  APP_PID=$!
+  trap 'kill $APP_PID 2>/dev/null || true' EXIT
+
+  until curl -sf "$BASE_URL/actuator/health" > /dev/null; do
+    kill -0 $APP_PID 2>/dev/null || { echo "app failed to start, see target/loadtest-$MODE.log"; exit 1; }
+    sleep 1
+  done
+
+  ./mvnw -q -Ploadtest verify \
+    -Dloadtest.args="--label $MODE --base-url $BASE_URL --clients $CLIENTS --duration $DURATION"
+
+  kill $APP_PID
+  wait $APP_PID 2>/dev/null || true
+  trap - EXIT
+
+  echo "$MODE pinned carrier warnings: $(grep -c "pinned" "target/loadtest-$MODE.log" || true)"
+done
+
+for MODE in platform virtual; do
+  echo "== $MODE"
+  cat "target/loadtest/$MODE.json"
+done
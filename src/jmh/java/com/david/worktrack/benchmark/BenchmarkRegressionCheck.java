@@ -0,0 +1,133 @@
+package com.david.worktrack.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compares a JMH JSON result with the committed baseline and exits non-zero when a benchmark got
+ * slower than the threshold, when a baseline benchmark selected by `includes` did not run, or when
+ * there is no result or no baseline. With updateBaseline=true the result is merged into the baseline
+ * instead (entries of benchmarks that did not run are kept).
+ *
+ * usage: BenchmarkRegressionCheck result.json baseline.json thresholdPercent [updateBaseline [includes]]
+ */
+public class BenchmarkRegressionCheck {
+
+    public static void main(String[] args) throws Exception {
+
+        File result = new File(args[0]);
+        File baseline = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+        boolean updateBaseline = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        // JMH selects benchmarks whose name contains a match of the pattern
+        Pattern includes = Pattern.compile(args.length > 4 ? args[4] : ".*");
+
+        if (!result.exists()) {
+            fail("No JMH result at " + result + ": the benchmarks did not run");
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> current = index(objectMapper.readTree(result));
+
+        if (updateBaseline) {
+            Map<String, JsonNode> merged = baseline.exists() ? index(objectMapper.readTree(baseline)) : new LinkedHashMap<>();
+            merged.putAll(current);
+
+            ArrayNode nodes = objectMapper.createArrayNode().addAll(merged.values());
+            Files.createDirectories(baseline.getAbsoluteFile().getParentFile().toPath());
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(baseline, nodes);
+            System.out.println("Wrote JMH baseline " + baseline + " (" + current.size() + " of " + merged.size() + " benchmarks updated)");
+            return;
+        }
+
+        if (!baseline.exists()) {
+            fail("No JMH baseline at " + baseline + ". Record one with -Djmh.updateBaseline=true and commit it");
+        }
+
+        Map<String, JsonNode> previous = index(objectMapper.readTree(baseline));
+
+        List<String> regressions = new ArrayList<>();
+
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+
+            JsonNode before = previous.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", score(entry.getValue()), "new");
+                continue;
+            }
+
+            double baselineScore = score(before);
+            double currentScore = score(entry.getValue());
+
+            // Throughput: higher is better; time modes (avgt, sample, ss): lower is better
+            double change = "thrpt".equals(entry.getValue().path("mode").asText())
+                    ? (baselineScore - currentScore) / baselineScore * 100
+                    : (currentScore - baselineScore) / baselineScore * 100;
+
+            System.out.printf("%-90s %14.3f %14.3f %8.1f%%%n", entry.getKey(), baselineScore, currentScore, change);
+
+            if (change > threshold) {
+                regressions.add(String.format("%s: %.1f%% slower (%.3f -> %.3f %s)", entry.getKey(), change,
+                        baselineScore, currentScore, entry.getValue().path("primaryMetric").path("scoreUnit").asText()));
+            }
+        }
+
+        // A benchmark that stopped running (renamed, deleted, failing) must not pass silently
+        for (Map.Entry<String, JsonNode> entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey()) && includes.matcher(entry.getValue().path("benchmark").asText()).find()) {
+                System.out.printf("%-90s %14.3f %14s %9s%n", entry.getKey(), score(entry.getValue()), "-", "missing");
+                regressions.add(entry.getKey() + ": in the baseline but not in this run");
+            }
+        }
+
+        if (!regressions.isEmpty()) {
+            System.out.println("Benchmarks regressed by more than " + threshold + "% or missing:");
+            regressions.forEach(r -> System.out.println("  " + r));
+            System.exit(1);
+        }
+
+        System.out.println("No benchmark regressed by more than " + threshold + "%");
+    }
+
+    // "class.method[param=value,...]" -> result entry
+    private static Map<String, JsonNode> index(JsonNode results) {
+
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+
+        for (JsonNode node : results) {
+
+            StringBuilder key = new StringBuilder(node.path("benchmark").asText());
+            JsonNode params = node.path("params");
+
+            if (!params.isEmpty()) {
+                List<String> pairs = new ArrayList<>();
+                params.fields().forEachRemaining(p -> pairs.add(p.getKey() + "=" + p.getValue().asText()));
+                key.append(pairs);
+            }
+
+            byKey.put(key.toString(), node);
+        }
+        return byKey;
+    }
+
+    private static void fail(String message) {
+        System.out.println(message);
+        System.exit(1);
+    }
+
+    private static double score(JsonNode node) {
+        return node.path("primaryMetric").path("score").asDouble();
+    }
+}
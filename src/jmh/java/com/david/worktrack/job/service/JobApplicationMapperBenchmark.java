@@ -0,0 +1,65 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.job.dto.JobApplicationPageResponse;
+import com.david.worktrack.job.dto.JobApplicationResponse;
+import com.david.worktrack.job.entity.ApplicationStatus;
+import com.david.worktrack.job.entity.JobApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping and JSON serialization of a list of applications, i.e. the CPU side of
+ * GET /api/v1/applications. size goes past MAX_PAGE_SIZE to show how the cost grows with the list.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JobApplicationMapperBenchmark {
+
+    @Param({"20", "100", "1000", "10000"})
+    private int size;
+
+    private List<JobApplication> applications;
+    private JobApplicationPageResponse page;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+
+        applications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            applications.add(JobApplication.builder()
+                    .id((long) i)
+                    .companyName("Company " + i)
+                    .position("Backend Developer")
+                    .status(ApplicationStatus.APPLIED)
+                    .appliedDate(LocalDate.of(2025, 1, 1).plusDays(i % 365))
+                    .notes("Referred by a former colleague, follow up after two weeks")
+                    .build());
+        }
+
+        page = new JobApplicationPageResponse(applications.stream().map(JobApplicationMapper::toResponse).toList(), "MjAyNS0wMS0wMToxMjM");
+
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<JobApplicationResponse> toResponseList() {
+        return applications.stream().map(JobApplicationMapper::toResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,36 @@
+package com.david.worktrack.user.service;
+
+import com.david.worktrack.user.dto.UserResponse;
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.entity.AppUserRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserMapperBenchmark {
+
+    private AppUser appUser;
+
+    @Setup
+    public void setUp() {
+        appUser = AppUser.builder()
+                .id(42L)
+                .email("bench@example.com")
+                .password("$2a$10$abcdefghijklmnopqrstuv")
+                .displayName("Bench User")
+                .appUserRole(AppUserRole.USER)
+                .enabled(true)
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse toResponse() {
+        return UserMapper.toResponse(appUser);
+    }
+}
@@ -0,0 +1,89 @@
+package com.david.worktrack.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+
+// Thin JDK HttpClient wrapper around the WorkTrack API
+public class ApiClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    public ApiClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    public record Tokens(String accessToken, String refreshToken) {
+    }
+
+    public HttpResponse<String> send(String method, String path, String accessToken, Object body) throws Exception {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30));
+
+        if (accessToken != null) {
+            request.header("Authorization", "Bearer " + accessToken);
+        }
+
+        if (body == null) {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        }
+
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    public Tokens readTokens(HttpResponse<String> response) throws Exception {
+
+        JsonNode json = objectMapper.readTree(response.body());
+        return new Tokens(json.path("accessToken").asText(), json.path("refreshToken").asText());
+    }
+
+    // register -> confirm (token read from MailDev) -> login
+    public Tokens createConfirmedUser(MailDevClient mailDev, String email, String password) throws Exception {
+
+        expect(send("POST", "/api/v1/auth/register", null,
+                Map.of("email", email, "password", password, "displayName", "Load Test")), 201);
+
+        String confirmationToken = mailDev.awaitToken(email, Duration.ofSeconds(30));
+        expect(send("GET", "/api/v1/auth/confirm?token=" + confirmationToken, null, null), 200);
+
+        HttpResponse<String> login = expect(send("POST", "/api/v1/auth/login", null,
+                Map.of("email", email, "password", password)), 200);
+
+        return readTokens(login);
+    }
+
+    public static Map<String, Object> applicationBody(int i) {
+
+        return Map.of(
+                "companyName", "Company " + i,
+                "position", "Backend Developer",
+                "status", "APPLIED",
+                "appliedDate", LocalDate.of(2025, 1, 1).plusDays(i % 365).toString(),
+                "notes", "Load test application " + i
+        );
+    }
+
+    public static HttpResponse<String> expect(HttpResponse<String> response, int status) {
+
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.uri()
+                    + " -> " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+}
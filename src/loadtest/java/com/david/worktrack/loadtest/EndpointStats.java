@@ -0,0 +1,83 @@
+package com.david.worktrack.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Latency histogram (microseconds) and error counters per endpoint, e.g. "POST /api/v1/auth/login"
+public class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = 60_000_000L;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    private static class Endpoint {
+        final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+
+    // status 0 = no response (timeout, connection refused, ...)
+    public void record(String endpoint, long startNanos, int status, boolean error) {
+
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, e -> new Endpoint());
+
+        stats.latencies.recordValue(Math.min((System.nanoTime() - startNanos) / 1_000, MAX_LATENCY_MICROS));
+        stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        if (error) {
+            stats.errors.increment();
+        }
+    }
+
+    public void print(double seconds) {
+
+        System.out.printf("%-40s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Req/s", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            Histogram h = stats.latencies;
+            System.out.printf("%-40s %9d %9.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    name, h.getTotalCount(), h.getTotalCount() / seconds, errorRate(stats),
+                    millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9), h.getMaxValue() / 1000.0);
+        });
+    }
+
+    public Map<String, Object> toReport(double seconds) {
+
+        Map<String, Object> report = new TreeMap<>();
+
+        endpoints.forEach((name, stats) -> {
+            Histogram h = stats.latencies;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("requests", h.getTotalCount());
+            entry.put("throughputPerSecond", h.getTotalCount() / seconds);
+            entry.put("errors", stats.errors.sum());
+            entry.put("errorRatePercent", errorRate(stats));
+            entry.put("statuses", new TreeMap<>(stats.statuses.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().sum()))));
+            entry.put("p50Ms", millis(h, 50));
+            entry.put("p90Ms", millis(h, 90));
+            entry.put("p99Ms", millis(h, 99));
+            entry.put("p999Ms", millis(h, 99.9));
+            entry.put("maxMs", h.getMaxValue() / 1000.0);
+            report.put(name, entry);
+        });
+        return report;
+    }
+
+    private static double errorRate(Endpoint stats) {
+
+        long total = stats.latencies.getTotalCount();
+        return total == 0 ? 0 : stats.errors.sum() * 100.0 / total;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.david.worktrack.loadtest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// --key value command line options
+public class LoadTestArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    public LoadTestArgs(String[] args) {
+
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String key = args[i].substring(2);
+            String value = i + 1 < args.length && !args[i + 1].startsWith("--") ? args[++i] : "true";
+            values.put(key, value);
+        }
+    }
+
+    public String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+
+    // Seconds
+    public Duration getDuration(String key, Duration defaultValue) {
+        return values.containsKey(key) ? Duration.ofSeconds(Long.parseLong(values.get(key))) : defaultValue;
+    }
+}
@@ -0,0 +1,72 @@
+package com.david.worktrack.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Reads the emails captured by MailDev (REST API on port 1080) to get confirmation tokens
+public class MailDevClient {
+
+    private static final Pattern TOKEN = Pattern.compile("token=([A-Za-z0-9-]+)");
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+
+    public MailDevClient(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+    }
+
+    // Polls until an email to `recipient` with a token link shows up
+    public String awaitToken(String recipient, Duration timeout) throws Exception {
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (System.nanoTime() < deadline) {
+
+            // MailDev 2 filters on the query string; the recipient is still checked below
+            HttpResponse<String> response = httpClient.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/email?to.address="
+                            + URLEncoder.encode(recipient, StandardCharsets.UTF_8))).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+
+            JsonNode emails = objectMapper.readTree(response.body());
+
+            // Newest email last
+            for (int i = emails.size() - 1; i >= 0; i--) {
+                JsonNode email = emails.get(i);
+                if (isAddressedTo(email, recipient)) {
+                    Matcher matcher = TOKEN.matcher(email.path("html").asText());
+                    if (matcher.find()) {
+                        return matcher.group(1);
+                    }
+                }
+            }
+
+            Thread.sleep(200);
+        }
+
+        throw new IllegalStateException("No email received for " + recipient + " within " + timeout);
+    }
+
+    private boolean isAddressedTo(JsonNode email, String recipient) {
+
+        for (JsonNode to : email.path("to")) {
+            if (recipient.equalsIgnoreCase(to.path("address").asText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
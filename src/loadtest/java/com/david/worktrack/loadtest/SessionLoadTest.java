@@ -0,0 +1,232 @@
+package com.david.worktrack.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open-model session load, the same flows as the Postman collection: new sessions arrive at
+ * `rate` per second (Poisson) regardless of how fast earlier ones finish, and each runs
+ * register -> confirm (MailDev) -> login -> create / list / update / patch status / delete
+ * -> refresh -> logout on its own virtual thread.
+ *
+ * Options: --base-url --maildev-url --label --rate --duration --think-time (ms)
+ *          --applications (created per session) --max-sessions (in flight)
+ */
+public class SessionLoadTest {
+
+    private static final String PASSWORD = "LoadTest123!";
+
+    private final ApiClient api;
+    private final MailDevClient mailDev;
+    private final ObjectMapper objectMapper;
+    private final EndpointStats stats = new EndpointStats();
+    private final long thinkTimeMillis;
+    private final int applicationsPerSession;
+
+    private final AtomicLong sessionIds = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SessionLoadTest(ApiClient api, MailDevClient mailDev, ObjectMapper objectMapper,
+                           long thinkTimeMillis, int applicationsPerSession) {
+        this.api = api;
+        this.mailDev = mailDev;
+        this.objectMapper = objectMapper;
+        this.thinkTimeMillis = thinkTimeMillis;
+        this.applicationsPerSession = applicationsPerSession;
+    }
+
+    public static void main(String[] argv) throws Exception {
+
+        LoadTestArgs args = new LoadTestArgs(argv);
+
+        String label = args.get("label", "sessions");
+        double rate = args.getDouble("rate", 5);
+        Duration duration = args.getDuration("duration", Duration.ofSeconds(60));
+        int maxSessions = args.getInt("max-sessions", 2000);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        SessionLoadTest test = new SessionLoadTest(
+                new ApiClient(httpClient, objectMapper, args.get("base-url", "http://localhost:8080")),
+                new MailDevClient(httpClient, objectMapper, args.get("maildev-url", "http://localhost:1080")),
+                objectMapper,
+                args.getInt("think-time", 500),
+                args.getInt("applications", 3));
+
+        System.out.printf("[%s] %.1f sessions/s for %ds%n", label, rate, duration.toSeconds());
+
+        long start = System.nanoTime();
+        test.run(rate, duration, maxSessions);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        test.stats.print(seconds);
+        System.out.printf("sessions: %d completed, %d failed, %d dropped (more than %d in flight)%n",
+                test.completed.get(), test.failed.get(), test.dropped.get(), maxSessions);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("arrivalRatePerSecond", rate);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("elapsedSeconds", seconds);
+        report.put("sessionsCompleted", test.completed.get());
+        report.put("sessionsFailed", test.failed.get());
+        report.put("sessionsDropped", test.dropped.get());
+        report.put("endpoints", test.stats.toReport(seconds));
+
+        Path output = Path.of("target", "loadtest", label + ".json");
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Report written to " + output);
+
+        System.exit(0);
+    }
+
+    private void run(double rate, Duration duration, int maxSessions) throws InterruptedException {
+
+        Semaphore inFlight = new Semaphore(maxSessions);
+        long end = System.nanoTime() + duration.toNanos();
+        long nextArrival = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            while (nextArrival < end) {
+
+                long wait = nextArrival - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+
+                // Open model: never wait for a free slot, count the session as dropped instead
+                if (inFlight.tryAcquire()) {
+                    executor.submit(() -> {
+                        try {
+                            session(sessionIds.incrementAndGet());
+                            completed.incrementAndGet();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    dropped.incrementAndGet();
+                }
+
+                // Exponential inter-arrival times
+                nextArrival += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) / rate * 1e9);
+            }
+
+            // Sessions started before the end run to completion
+        }
+    }
+
+    private void session(long id) throws Exception {
+
+        String email = "session-" + System.currentTimeMillis() + "-" + id + "@loadtest.example.com";
+
+        call("POST /auth/register", 201, "POST", "/api/v1/auth/register", null,
+                Map.of("email", email, "password", PASSWORD, "displayName", "Session " + id));
+
+        long mailStart = System.nanoTime();
+        String confirmationToken;
+        try {
+            confirmationToken = mailDev.awaitToken(email, Duration.ofSeconds(60));
+            stats.record("(email delivery)", mailStart, 200, false);
+        } catch (Exception e) {
+            stats.record("(email delivery)", mailStart, 0, true);
+            throw e;
+        }
+
+        call("GET /auth/confirm", 200, "GET", "/api/v1/auth/confirm?token=" + confirmationToken, null, null);
+        think();
+
+        ApiClient.Tokens tokens = api.readTokens(call("POST /auth/login", 200, "POST", "/api/v1/auth/login", null,
+                Map.of("email", email, "password", PASSWORD)));
+        think();
+
+        for (int i = 0; i < applicationsPerSession; i++) {
+            call("POST /applications", 201, "POST", "/api/v1/applications", tokens.accessToken(), ApiClient.applicationBody(i));
+            think();
+        }
+
+        JsonNode page = objectMapper.readTree(
+                call("GET /applications", 200, "GET", "/api/v1/applications?size=20", tokens.accessToken(), null).body());
+        think();
+
+        JsonNode items = page.path("items");
+        if (!items.isEmpty()) {
+
+            long first = items.get(0).path("id").asLong();
+            long last = items.get(items.size() - 1).path("id").asLong();
+
+            call("PUT /applications/{id}", 200, "PUT", "/api/v1/applications/" + first, tokens.accessToken(),
+                    ApiClient.applicationBody(applicationsPerSession));
+            think();
+
+            call("PATCH /applications/{id}", 200, "PATCH", "/api/v1/applications/" + first, tokens.accessToken(),
+                    Map.of("status", "INTERVIEW"));
+            think();
+
+            call("DELETE /applications/{id}", 204, "DELETE", "/api/v1/applications/" + last, tokens.accessToken(), null);
+            think();
+        }
+
+        ApiClient.Tokens refreshed = api.readTokens(call("POST /auth/refresh-token", 200, "POST", "/api/v1/auth/refresh-token",
+                null, Map.of("refreshToken", tokens.refreshToken())));
+        think();
+
+        call("GET /applications", 200, "GET", "/api/v1/applications?size=20", refreshed.accessToken(), null);
+        think();
+
+        call("POST /auth/logout", 204, "POST", "/api/v1/auth/logout", null,
+                Map.of("refreshToken", refreshed.refreshToken()));
+    }
+
+    // Records the call under `endpoint`; an unexpected status fails the rest of the session
+    private HttpResponse<String> call(String endpoint, int expectedStatus, String method, String path,
+                                      String accessToken, Object body) throws Exception {
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+
+        try {
+            response = api.send(method, path, accessToken, body);
+        } catch (Exception e) {
+            stats.record(endpoint, start, 0, true);
+            throw e;
+        }
+
+        boolean error = response.statusCode() != expectedStatus;
+        stats.record(endpoint, start, response.statusCode(), error);
+
+        return error ? ApiClient.expect(response, expectedStatus) : response;
+    }
+
+    private void think() throws InterruptedException {
+
+        if (thinkTimeMillis > 0) {
+            // +-50% so sessions don't move in lockstep
+            Thread.sleep(thinkTimeMillis / 2 + ThreadLocalRandom.current().nextLong(thinkTimeMillis + 1));
+        }
+    }
+}
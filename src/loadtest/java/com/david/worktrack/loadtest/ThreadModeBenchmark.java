@@ -0,0 +1,125 @@
+package com.david.worktrack.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load: `clients` concurrent clients each repeatedly GET a page of applications
+ * (a DB-bound request) for `duration` seconds after a warmup. Run once against the app in
+ * platform-thread mode and once with the "virtual" profile (loadtest/compare-thread-modes.sh)
+ * and compare throughput and p99.
+ *
+ * Options: --base-url --maildev-url --label --clients --warmup --duration --seed --path
+ */
+public class ThreadModeBenchmark {
+
+    public static void main(String[] argv) throws Exception {
+
+        LoadTestArgs args = new LoadTestArgs(argv);
+
+        String label = args.get("label", "run");
+        int clients = args.getInt("clients", 1000);
+        Duration warmup = args.getDuration("warmup", Duration.ofSeconds(15));
+        Duration duration = args.getDuration("duration", Duration.ofSeconds(60));
+        int seed = args.getInt("seed", 100);
+        String path = args.get("path", "/api/v1/applications?size=20");
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        ApiClient api = new ApiClient(httpClient, objectMapper, args.get("base-url", "http://localhost:8080"));
+        MailDevClient mailDev = new MailDevClient(httpClient, objectMapper, args.get("maildev-url", "http://localhost:1080"));
+
+        // One user with `seed` applications, shared by all clients
+        String email = "loadtest-" + System.currentTimeMillis() + "@example.com";
+        String token = api.createConfirmedUser(mailDev, email, "LoadTest123!").accessToken();
+        for (int i = 0; i < seed; i++) {
+            ApiClient.expect(api.send("POST", "/api/v1/applications", token, ApiClient.applicationBody(i)), 201);
+        }
+
+        System.out.printf("[%s] warmup %ds with %d clients%n", label, warmup.toSeconds(), clients);
+        run(api, token, path, clients, warmup);
+
+        System.out.printf("[%s] measuring %ds with %d clients%n", label, duration.toSeconds(), clients);
+        Result result = run(api, token, path, clients, duration);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("clients", clients);
+        report.put("durationSeconds", duration.toSeconds());
+        report.put("requests", result.latencies.getTotalCount());
+        report.put("errors", result.errors);
+        report.put("throughputPerSecond", result.latencies.getTotalCount() / (double) duration.toSeconds());
+        report.put("p50Ms", millis(result.latencies, 50));
+        report.put("p90Ms", millis(result.latencies, 90));
+        report.put("p99Ms", millis(result.latencies, 99));
+        report.put("p999Ms", millis(result.latencies, 99.9));
+        report.put("maxMs", result.latencies.getMaxValue() / 1000.0);
+
+        System.out.println(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(report));
+
+        Path output = Path.of("target", "loadtest", label + ".json");
+        Files.createDirectories(output.getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+
+        System.exit(0);
+    }
+
+    private record Result(Histogram latencies, long errors) {
+    }
+
+    private static Result run(ApiClient api, String token, String path, int clients, Duration duration) throws Exception {
+
+        // Microseconds, up to 60 s, 3 significant digits
+        ConcurrentHistogram latencies = new ConcurrentHistogram(60_000_000L, 3);
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            List<Runnable> workers = new ArrayList<>(clients);
+
+            for (int c = 0; c < clients; c++) {
+                workers.add(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<String> response = api.send("GET", path, token, null);
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies.recordValue(Math.min((System.nanoTime() - start) / 1_000, 60_000_000L));
+                    }
+                });
+            }
+
+            workers.forEach(executor::submit);
+        }
+
+        return new Result(latencies, errors.get());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
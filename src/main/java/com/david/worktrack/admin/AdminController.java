@@ -1,13 +1,11 @@
 package com.david.worktrack.admin;
 
-import com.david.worktrack.user.dto.UserResponse;
+import com.david.worktrack.user.entity.AppUserRole;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("api/v1/admin")
 @RequiredArgsConstructor
@@ -21,9 +19,17 @@ public class AdminController {
         return ResponseEntity.ok("Admin test successfully");
     }
 
+    // Users one page at a time (?role=&enabled=&verified=&cursor=&size=&sort=id|email&direction=asc|desc);
+    // pass nextCursor back as `cursor`, with the same sort and direction, for the next page
     @GetMapping("/users")
-    public ResponseEntity<List<UserResponse>> getAllUsers(){
+    public ResponseEntity<AdminUserPageResponse> getUsers(@RequestParam(value = "role", required = false) AppUserRole role,
+                                                          @RequestParam(value = "enabled", required = false) Boolean enabled,
+                                                          @RequestParam(value = "verified", required = false) Boolean verified,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "size", required = false) Integer size,
+                                                          @RequestParam(value = "sort", defaultValue = "id") String sort,
+                                                          @RequestParam(value = "direction", defaultValue = "asc") String direction) {
 
-        return ResponseEntity.ok(adminService.getAllUsers());
+        return ResponseEntity.ok(adminService.getUsers(role, enabled, verified, cursor, size, sort, direction));
     }
 }
@@ -1,26 +1,63 @@
 package com.david.worktrack.admin;
 
-import com.david.worktrack.user.dto.UserResponse;
-import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.common.exception.BusinessException;
+import com.david.worktrack.user.dto.UserSummaryResponse;
+import com.david.worktrack.user.entity.AppUserRole;
 import com.david.worktrack.user.repository.AppUserRepository;
-import com.david.worktrack.user.service.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class AdminService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Only indexed columns (primary key, unique email), so a page never sorts the whole table
+    private static final Set<String> SORTABLE = Set.of("id", "email");
+
     private final AppUserRepository repository;
 
-    public List<UserResponse> getAllUsers() {
+    // Keyset pagination: each page starts right after the cursor row instead of skipping `page * size` rows
+    @Transactional(readOnly = true)
+    public AdminUserPageResponse getUsers(AppUserRole role, Boolean enabled, Boolean verified,
+                                          String cursor, Integer size, String sort, String direction) {
+
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (!SORTABLE.contains(sort)) {
+            throw new BusinessException("Sort must be one of " + SORTABLE);
+        }
+
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction)
+                .orElseThrow(() -> new BusinessException("Direction must be asc or desc"));
+
+        AdminUserCursor after = cursor == null || cursor.isBlank() ? null : AdminUserCursor.decode(cursor);
+
+        // One extra row to know if there is a next page
+        List<UserSummaryResponse> rows = repository.findSummaries(
+                role, enabled, verified, sort, sortDirection,
+                after == null ? null : after.email(),
+                after == null ? null : after.id(),
+                pageSize + 1);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<UserSummaryResponse> page = hasNext ? rows.subList(0, pageSize) : rows;
 
-        List<AppUser> appUsers = repository.findAll();
+        String nextCursor = null;
+        if (hasNext) {
+            UserSummaryResponse last = page.get(page.size() - 1);
+            nextCursor = new AdminUserCursor(last.email(), last.id()).encode();
+        }
 
-        return appUsers.stream()
-                .map(UserMapper::toResponse)
-                .toList();
+        return new AdminUserPageResponse(page, nextCursor);
     }
 }
@@ -0,0 +1,32 @@
+package com.david.worktrack.admin;
+
+import com.david.worktrack.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque keyset position in the admin user list: the (email, id) of the last row of the previous page,
+// which places it in either sort order. The id is after the last ':' since an email may contain one
+public record AdminUserCursor(String email, Long id) {
+
+    public String encode() {
+
+        String raw = email + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AdminUserCursor decode(String cursor) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(':');
+
+            return new AdminUserCursor(
+                    raw.substring(0, separator),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
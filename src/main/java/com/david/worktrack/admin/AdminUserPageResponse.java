@@ -0,0 +1,12 @@
+package com.david.worktrack.admin;
+
+import com.david.worktrack.user.dto.UserSummaryResponse;
+
+import java.util.List;
+
+// nextCursor is null when there are no more users. No total count: counting every matching user would cost a full scan on each page
+public record AdminUserPageResponse(
+        List<UserSummaryResponse> items,
+        String nextCursor
+) {
+}
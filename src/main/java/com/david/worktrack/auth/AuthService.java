@@ -5,11 +5,12 @@ import com.david.worktrack.auth.dto.LoginRequest;
 import com.david.worktrack.auth.dto.RegisterRequest;
 import com.david.worktrack.user.entity.AppUser;
 import com.david.worktrack.common.exception.BusinessException;
+import com.david.worktrack.security.ratelimit.AuthRateLimiter;
 import com.david.worktrack.token.refreshToken.RefreshTokenService;
+import com.david.worktrack.token.refreshToken.RotatedRefreshToken;
 import com.david.worktrack.user.service.UserService;
 import com.david.worktrack.common.email.EmailService;
 import com.david.worktrack.security.jwt.JwtService;
-import com.david.worktrack.token.confirmation.ConfirmationToken;
 import com.david.worktrack.token.confirmation.ConfirmationTokenService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -27,6 +28,7 @@ public class AuthService {
     private final ConfirmationTokenService confirmationTokenService;
     private final RefreshTokenService refreshTokenService;
     private final EmailService emailService;
+    private final AuthRateLimiter authRateLimiter;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
@@ -45,10 +47,10 @@ public class AuthService {
         AppUser appUser = userService.createAndSaveUser(request);
 
         // Create and save token
-        ConfirmationToken token = confirmationTokenService.createAndSaveToken(appUser);
+        String token = confirmationTokenService.createAndSaveToken(appUser);
 
         // Confirmation link
-        String link = frontendUrl + "/confirm?token=" + token.getToken();
+        String link = frontendUrl + "/confirm?token=" + token;
 
         // Send Email
         emailService.sendConfirmationEmail(
@@ -68,14 +70,20 @@ public class AuthService {
 
     public AuthResponse login(LoginRequest request) {
 
+        // Guesses spread over many addresses still hit the per-account limit, before any lookup or hashing
+        authRateLimiter.checkAccount("login", request.getEmail());
+
         AppUser appUser = userService.getUserByEmailOrThrow(request.getEmail());
 
-        userService.validatePassword(request.getPassword(), appUser.getPassword());
+        userService.validatePassword(appUser, request.getPassword());
 
         ensureUserIsEnable(appUser);
 
+        // Transparently upgrade the stored hash if the configured cost factor changed
+        userService.rehashPasswordIfNeeded(appUser, request.getPassword());
+
         // Generate JWT token & Refresh Token
-        String accessToken  = jwtService.generateToken(appUser.getEmail());
+        String accessToken  = jwtService.generateToken(appUser);
         String refreshToken = refreshTokenService.createRefreshToken(appUser);
 
         return new AuthResponse(accessToken, refreshToken);
@@ -83,25 +91,30 @@ public class AuthService {
 
     public AuthResponse refreshToken(String refreshTokenValue) {
 
-        AppUser appUser =  refreshTokenService.validateRefreshToken(refreshTokenValue);
+        // The presented token is revoked and replaced by a new one
+        RotatedRefreshToken rotated = refreshTokenService.rotateRefreshToken(refreshTokenValue);
 
-        String newAccessToken = jwtService.generateToken(appUser.getEmail());
+        String newAccessToken = jwtService.generateToken(rotated.owner());
 
-        return new AuthResponse(newAccessToken, refreshTokenValue);
+        return new AuthResponse(newAccessToken, rotated.refreshToken());
     }
 
     // Security measure to avoid user enumeration (information disclosure)
     // The response is intentionally the same whether the email exists or not,
     // to prevent attackers from discovering valid accounts
+    @Transactional
     public void forgotPassword(String email) {
 
+        // Limited whether the account exists or not, so the 429 tells nothing either
+        authRateLimiter.checkAccount("forgot-password", email);
+
         Optional<AppUser> user = userService.getUserByEmail(email);
 
         user.ifPresent(appUser -> {
             // Create reset token
-            ConfirmationToken token = confirmationTokenService.createAndSaveToken(appUser);
+            String token = confirmationTokenService.createAndSaveToken(appUser);
 
-            String link = frontendUrl + "/reset-password?token=" + token.getToken();
+            String link = frontendUrl + "/reset-password?token=" + token;
 
             emailService.sendResetPasswordEmail(
                     appUser.getEmail(),
@@ -0,0 +1,67 @@
+package com.david.worktrack.common.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Regions of the Hibernate second-level cache, each a bounded Caffeine cache behind JCache.
+ * Hibernate is configured with missing_cache_strategy=fail, so a region used in an annotation
+ * must be created here.
+ * The cache is local to each instance: a write on one node does not reach the others' regions.
+ * Only AppUser is cached, and the checks that must see the latest row (login, password) bypass it.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String APP_USER = "app-user";
+    public static final String APP_USER_BY_EMAIL = "app-user-by-email";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${app.cache.second-level.app-user:10000}") long appUsers,
+                                              @Value("${app.cache.second-level.app-user-by-email:10000}") long appUsersByEmail,
+                                              @Value("${app.cache.second-level.ttl:30m}") Duration ttl) {
+
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("worktrack-hibernate"), getClass().getClassLoader());
+
+        // The TTL bounds how long a row changed outside this instance's Hibernate (another node, psql, JdbcTemplate)
+        // can be served stale
+        create(cacheManager, APP_USER, appUsers, ttl);
+        create(cacheManager, APP_USER_BY_EMAIL, appUsersByEmail, ttl);
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void create(CacheManager cacheManager, String region, long maxSize, Duration ttl) {
+
+        if (cacheManager.getCache(region) != null) {
+            return; // the manager is shared per class loader, a second context in the same JVM finds it already set up
+        }
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>()
+                // Hibernate stores disassembled, immutable state: no need to copy it on every get/put
+                .setStoreByValue(false)
+                .setMaximumSize(OptionalLong.of(maxSize))
+                .setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+
+        cacheManager.createCache(region, configuration);
+    }
+}
@@ -0,0 +1,77 @@
+package com.david.worktrack.common.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Only active in virtual-thread mode. Listens to the JFR jdk.VirtualThreadPinned event
+ * (a virtual thread blocking inside synchronized / native code, holding its carrier thread)
+ * and logs where it happened, so pinning in drivers or libraries shows up in the logs
+ * and in the virtual.threads.pinned metric instead of as unexplained latency.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final Duration threshold;
+    private final Counter pinned;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("virtual.threads.pinned").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::report);
+        stream.startAsync();
+    }
+
+    private void report(RecordedEvent event) {
+
+        pinned.increment();
+
+        String frames = event.getStackTrace() == null ? "?" : event.getStackTrace().getFrames().stream()
+                .limit(8)
+                .map(RecordedFrame::getMethod)
+                .map(method -> method.getType().getName() + "." + method.getName())
+                .collect(Collectors.joining(" <- "));
+
+        log.warn("Virtual thread pinned for {} ms: {}", event.getDuration().toMillis(), frames);
+    }
+
+    @Override
+    public void stop() {
+
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+}
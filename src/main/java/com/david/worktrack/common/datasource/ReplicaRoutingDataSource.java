@@ -0,0 +1,93 @@
+package com.david.worktrack.common.datasource;
+
+import com.david.worktrack.security.principal.AppUserPrincipal;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends @Transactional(readOnly = true) work to a replica and everything else (writes, and anything
+ * outside a transaction such as Flyway, the principal lookup or the advisory lock) to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only known
+ * once it has begun, so the physical connection has to be picked at the first statement.
+ *
+ * An authenticated user always reads from the same replica (chosen by user id), so successive reads
+ * never go back in time, e.g. a collection ETag and the page read after it come from the same copy.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+    private final ReplicaStickiness stickiness;
+    private final AtomicInteger nextAnonymous = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, ReplicaStickiness stickiness) {
+
+        this.replicas = replicas;
+        this.stickiness = stickiness;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        Long userId = currentUserId();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            stickToPrimaryAfterCommit(userId);
+            return PRIMARY;
+        }
+
+        if (userId == null) {
+            return Math.floorMod(nextAnonymous.getAndIncrement(), replicas.size());
+        }
+        if (stickiness.isSticky(userId)) {
+            return PRIMARY;
+        }
+        return Math.floorMod(Long.hashCode(userId), replicas.size());
+    }
+
+    private void stickToPrimaryAfterCommit(Long userId) {
+
+        if (userId == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stickiness.markWrite(userId);
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        return authentication != null && authentication.getPrincipal() instanceof AppUserPrincipal principal
+                ? principal.id()
+                : null;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,38 @@
+package com.david.worktrack.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Users who committed a write in the last `sticky-window`: their read-only transactions go to the
+ * primary, so they read their own writes even while the replicas lag behind.
+ * Kept per node: behind a load balancer, pair it with session affinity or a window longer than the lag.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaStickiness {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReplicaStickiness(@Value("${app.datasource.replicas.sticky-window:5s}") Duration window,
+                             @Value("${app.datasource.replicas.sticky-max-users:100000}") long maxUsers) {
+
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void markWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean isSticky(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
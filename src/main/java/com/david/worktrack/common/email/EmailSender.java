@@ -2,8 +2,15 @@ package com.david.worktrack.common.email;
 
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Map;
+
 @Repository
 public interface EmailSender {
 
     void send(String to, String email, String content);
+
+    // Sends all emails over one connection.
+    // Returns the failures keyed by position in the list (empty map = everything was sent)
+    Map<Integer, Exception> sendBatch(List<OutboundEmail> emails);
 }
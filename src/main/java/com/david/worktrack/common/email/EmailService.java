@@ -1,30 +1,58 @@
 package com.david.worktrack.common.email;
 
+import com.david.worktrack.common.email.outbox.EmailOutboxMessage;
+import com.david.worktrack.common.email.outbox.EmailOutboxRepository;
+import com.david.worktrack.common.email.outbox.EmailOutboxStatus;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
+/**
+ * Emails are not sent here: they are written to the outbox in the caller's transaction
+ * (so they exist only if the registration / token is committed) and delivered later by
+ * EmailOutboxDispatcher.
+ */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final EmailSender emailSender;
+    private final EmailOutboxRepository outboxRepository;
 
+    @Transactional
     public void sendConfirmationEmail(String email, String name, String link) {
 
-        emailSender.send(
+        enqueue(
                 email,
                 "Confirm your email",
                 buildConfirmationEmail(name, link));
     }
 
+    @Transactional
     public void sendResetPasswordEmail(String email, String name, String link) {
 
-        emailSender.send(
+        enqueue(
                 email,
                 "Reset your password",
                 buildResetPasswordEmail(name, link));
     }
 
+    private void enqueue(String to, String subject, String content) {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        outboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(content)
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
     private String buildConfirmationEmail(String name, String link) {
 
         return "<p>Hello " + name + ",</p>"
@@ -0,0 +1,8 @@
+package com.david.worktrack.common.email;
+
+public record OutboundEmail(
+        String to,
+        String subject,
+        String content
+) {
+}
@@ -5,10 +5,14 @@ import com.david.worktrack.common.exception.EmailSendingException;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+
 @Service
 @RequiredArgsConstructor
 public class SmtpEmailSender implements EmailSender{
@@ -19,19 +23,70 @@ public class SmtpEmailSender implements EmailSender{
     public void send(String to, String subject, String content) {
 
         try {
-           MimeMessage mimeMessage = emailSender.createMimeMessage();
-           MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
-
-           helper.setTo(to);
-           helper.setSubject(subject);
-           helper.setText(content, true);
-           helper.setFrom("example@example.com");
-
-           emailSender.send(mimeMessage);
+           emailSender.send(buildMessage(new OutboundEmail(to, subject, content)));
 
        }catch (MessagingException e) {
            throw new EmailSendingException("Failed to send email", e);
        }
 
     }
+
+    @Override
+    public Map<Integer, Exception> sendBatch(List<OutboundEmail> emails) {
+
+        Map<Integer, Exception> failures = new HashMap<>();
+
+        // Position of each built message, to map SMTP failures back to the caller's list
+        Map<MimeMessage, Integer> positions = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>();
+
+        for (int i = 0; i < emails.size(); i++) {
+            try {
+                MimeMessage message = buildMessage(emails.get(i));
+                positions.put(message, i);
+                messages.add(message);
+            } catch (MessagingException e) {
+                failures.put(i, e);
+            }
+        }
+
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            // JavaMailSender opens a single SMTP connection for the whole array
+            emailSender.send(messages.toArray(MimeMessage[]::new));
+
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                positions.values().forEach(i -> failures.put(i, e));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> {
+                    Integer position = positions.get(message);
+                    if (position != null) {
+                        failures.put(position, cause);
+                    }
+                });
+            }
+        } catch (MailException e) {
+            // Connection / authentication problem -> nothing was sent
+            positions.values().forEach(i -> failures.put(i, e));
+        }
+
+        return failures;
+    }
+
+    private MimeMessage buildMessage(OutboundEmail email) throws MessagingException {
+
+        MimeMessage mimeMessage = emailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
+
+        helper.setTo(email.to());
+        helper.setSubject(email.subject());
+        helper.setText(email.content(), true);
+        helper.setFrom("example@example.com");
+
+        return mimeMessage;
+    }
 }
@@ -0,0 +1,188 @@
+package com.david.worktrack.common.email.outbox;
+
+import com.david.worktrack.common.email.EmailSender;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers queued emails in the background, so request threads never wait on SMTP.
+ * Up to `concurrency` workers each claim a batch (SKIP LOCKED), send it over one SMTP
+ * connection and record the outcome. Failed messages are retried with exponential
+ * backoff and end up DEAD after `max-attempts`.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxRepository repository;
+    private final EmailSender emailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository repository,
+                                 EmailSender emailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.email.outbox.concurrency:2}") int concurrency,
+                                 @Value("${app.email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.email.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${app.email.outbox.max-backoff:1h}") Duration maxBackoff,
+                                 @Value("${app.email.outbox.lease:5m}") Duration lease) {
+
+        this.repository = repository;
+        this.emailSender = emailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.email.outbox.poll-interval:1s}")
+    public void dispatch() {
+
+        List<Future<?>> running = new ArrayList<>(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            running.add(workers.submit(this::drain));
+        }
+
+        for (Future<?> worker : running) {
+            try {
+                worker.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Email outbox worker failed", e);
+            }
+        }
+    }
+
+    // Keeps sending batches until the queue has nothing due
+    private void drain() {
+
+        while (true) {
+
+            List<EmailOutboxMessage> batch = transactionTemplate.execute(status -> claimBatch());
+
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+
+            Map<Integer, Exception> failures = emailSender.sendBatch(
+                    batch.stream().map(EmailOutboxMessage::toOutboundEmail).toList()
+            );
+
+            transactionTemplate.executeWithoutResult(status -> recordResults(batch, failures));
+
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+
+        LocalDateTime now = LocalDateTime.now();
+
+        List<EmailOutboxMessage> batch = repository.findDueForUpdate(now, batchSize);
+
+        if (!batch.isEmpty()) {
+            repository.lease(batch.stream().map(EmailOutboxMessage::getId).toList(), now.plus(lease));
+        }
+
+        return batch;
+    }
+
+    private void recordResults(List<EmailOutboxMessage> batch, Map<Integer, Exception> failures) {
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sent = new ArrayList<>(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+
+            EmailOutboxMessage message = batch.get(i);
+            Exception failure = failures.get(i);
+
+            if (failure == null) {
+                sent.add(message.getId());
+                continue;
+            }
+
+            int attempts = message.getAttempts() + 1;
+            boolean dead = attempts >= maxAttempts;
+
+            repository.markFailed(
+                    message.getId(),
+                    dead ? EmailOutboxStatus.DEAD : EmailOutboxStatus.PENDING,
+                    attempts,
+                    now.plus(backoff(attempts)),
+                    truncate(failure.getMessage())
+            );
+
+            if (dead) {
+                log.warn("Email {} to {} moved to dead letter after {} attempts", message.getId(), message.getRecipient(), attempts);
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            repository.markSent(sent, now);
+        }
+    }
+
+    // initialBackoff * 2^(attempts - 1), capped at maxBackoff
+    private Duration backoff(int attempts) {
+
+        int exponent = Math.min(attempts - 1, 30);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private String truncate(String error) {
+
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
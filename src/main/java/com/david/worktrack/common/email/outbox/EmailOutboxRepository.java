@@ -0,0 +1,59 @@
+package com.david.worktrack.common.email.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // SKIP LOCKED -> concurrent dispatchers (threads or nodes) never claim the same rows
+    @Query(value = """
+        SELECT * FROM email_outbox
+        WHERE status = 'PENDING' AND next_attempt_at <= :now
+        ORDER BY next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<EmailOutboxMessage> findDueForUpdate(@Param("now") LocalDateTime now,
+                                              @Param("limit") int limit);
+
+    // Pushes claimed rows out of the polling window while they are being sent.
+    // If the node dies mid-send, they become due again when the lease runs out
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.nextAttemptAt = :leaseUntil WHERE m.id IN :ids")
+    int lease(@Param("ids") Collection<Long> ids,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("""
+        UPDATE EmailOutboxMessage m
+        SET m.status = com.david.worktrack.common.email.outbox.EmailOutboxStatus.SENT,
+            m.sentAt = :now,
+            m.attempts = m.attempts + 1
+        WHERE m.id IN :ids
+    """)
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        UPDATE EmailOutboxMessage m
+        SET m.status = :status,
+            m.attempts = :attempts,
+            m.nextAttemptAt = :nextAttemptAt,
+            m.lastError = :lastError
+        WHERE m.id = :id
+    """)
+    int markFailed(@Param("id") Long id,
+                   @Param("status") EmailOutboxStatus status,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+}
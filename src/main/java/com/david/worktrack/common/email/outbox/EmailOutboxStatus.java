@@ -0,0 +1,7 @@
+package com.david.worktrack.common.email.outbox;
+
+public enum EmailOutboxStatus {
+    PENDING, // waiting for (another) delivery attempt
+    SENT,
+    DEAD     // gave up after max attempts, kept for inspection
+}
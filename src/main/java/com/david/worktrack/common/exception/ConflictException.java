@@ -0,0 +1,9 @@
+package com.david.worktrack.common.exception;
+
+// The request is valid but conflicts with the current state of the resource
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.david.worktrack.common.lock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Cluster-wide mutual exclusion for background jobs, so only one node runs them at a time.
+ * Uses a session-level pg_try_advisory_lock on a dedicated connection held for the whole run:
+ * if the node dies, Postgres drops the session and the lock with it.
+ */
+@Component
+public class PostgresAdvisoryLock {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresAdvisoryLock.class);
+
+    private final DataSource dataSource;
+
+    public PostgresAdvisoryLock(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Runs task if no other session holds the lock `name`; returns false when it was skipped
+    public boolean runExclusively(String name, Runnable task) {
+
+        try (Connection connection = dataSource.getConnection()) {
+
+            if (!call(connection, "SELECT pg_try_advisory_lock(hashtext(?))", name)) {
+                return false;
+            }
+
+            try {
+                task.run();
+                return true;
+            } finally {
+                unlock(connection, name);
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not use advisory lock " + name, e);
+        }
+    }
+
+    private void unlock(Connection connection, String name) throws SQLException {
+
+        if (!call(connection, "SELECT pg_advisory_unlock(hashtext(?))", name)) {
+            log.warn("Advisory lock {} was not held at unlock", name);
+        }
+    }
+
+    private boolean call(Connection connection, String sql, String name) throws SQLException {
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, name);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+}
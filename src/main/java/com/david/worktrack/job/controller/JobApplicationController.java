@@ -1,17 +1,35 @@
 package com.david.worktrack.job.controller;
 
+import com.david.worktrack.job.dto.JobApplicationBatchRequest;
+import com.david.worktrack.job.dto.JobApplicationBatchResponse;
+import com.david.worktrack.job.dto.JobApplicationFilter;
+import com.david.worktrack.job.dto.JobApplicationImportReport;
+import com.david.worktrack.job.dto.JobApplicationPageResponse;
+import com.david.worktrack.job.dto.JobApplicationStatsResponse;
+import com.david.worktrack.job.service.ApplicationFileFormat;
+import com.david.worktrack.job.service.JobApplicationExportService;
+import com.david.worktrack.job.service.JobApplicationImportService;
+import com.david.worktrack.job.service.JobApplicationListCache;
 import com.david.worktrack.job.service.JobApplicationService;
 import com.david.worktrack.job.dto.JobApplicationRequest;
-import com.david.worktrack.job.dto.JobApplicationResponse;
 import com.david.worktrack.job.dto.UpdateJobStatusRequest;
-import com.david.worktrack.user.entity.AppUser;
-import com.david.worktrack.user.service.UserService;
+import com.david.worktrack.security.principal.AppUserPrincipal;
+import com.david.worktrack.security.principal.CurrentUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -19,63 +37,241 @@ import java.util.List;
 @RequiredArgsConstructor
 public class JobApplicationController {
 
+    // Clients may keep responses but must revalidate (If-None-Match) before reusing them
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final JobApplicationService jobApplicationService;
-    private final UserService userService;
+    private final JobApplicationImportService importService;
+    private final JobApplicationExportService exportService;
+    private final JobApplicationListCache listCache;
+    private final ObjectMapper objectMapper;
 
     // Create job application
     @PostMapping
-    public ResponseEntity<Void> createJobApplication(@RequestBody JobApplicationRequest request, Authentication authentication) {
-
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
+    public ResponseEntity<Void> createJobApplication(@RequestBody JobApplicationRequest request, @CurrentUser AppUserPrincipal user) {
 
-        jobApplicationService.createJobApplication(request, appUser);
+        jobApplicationService.createJobApplication(request, user.id());
 
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
-    // Get all my  Job applications
+    // Bulk import, streamed: CSV with a header row (companyName,position,status,appliedDate,notes)
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<JobApplicationImportReport> importCsv(InputStream body, @CurrentUser AppUserPrincipal user) throws IOException {
+
+        return ResponseEntity.ok(importService.importApplications(body, ApplicationFileFormat.CSV, user.id()));
+    }
+
+    // Bulk import, streamed: one JSON object per line, same fields as create
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<JobApplicationImportReport> importNdjson(InputStream body, @CurrentUser AppUserPrincipal user) throws IOException {
+
+        return ResponseEntity.ok(importService.importApplications(body, ApplicationFileFormat.NDJSON, user.id()));
+    }
+
+    // Export all my applications (?format=csv|ndjson plus the list filters), streamed; gzipped if the client accepts it
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportJobApplications(JobApplicationFilter filter,
+                                                                       @RequestParam(value = "format", defaultValue = "csv") String format,
+                                                                       @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                       @CurrentUser AppUserPrincipal user) {
+
+        ApplicationFileFormat fileFormat = ApplicationFileFormat.fromParameter(format);
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = exportService.export(user.id(), filter, fileFormat, gzip);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(fileFormat.mediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"applications." + fileFormat.extension() + "\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        return response.body(body);
+    }
+
+    // Get my Job applications, one page at a time (?status=&from=&to=&cursor=&size=); 304 if If-None-Match is current.
+    // The JSON is cached per user and collection version, so an unchanged list is served without touching the rows.
+    // A gzipped body is a different representation of the same version, so it has its own ETag ("42-gzip")
     @GetMapping
-    public ResponseEntity<List<JobApplicationResponse>> getUserJobApplications(Authentication authentication) {
+    public ResponseEntity<byte[]> getUserJobApplications(JobApplicationFilter filter,
+                                                         @RequestParam(value = "cursor", required = false) String cursor,
+                                                         @RequestParam(value = "size", required = false) Integer size,
+                                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                         @CurrentUser AppUserPrincipal user) throws IOException {
+
+        long version = jobApplicationService.getCollectionVersion(user.id());
+        String etag = eTag(version);
+        String gzipETag = ETag.quoteETagIfNecessary(version + "-gzip");
+
+        // Either representation of the current version is still valid: the 304 names the one the client has
+        String current = matchingETag(ifNoneMatch, etag, gzipETag);
+        if (current != null) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(REVALIDATE)
+                    .eTag(current)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
 
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
+        String variant = JobApplicationListCache.variant(filter, cursor, size);
+        JobApplicationListCache.Body body = listCache.get(user.id(), version, variant);
 
-        List<JobApplicationResponse> response = jobApplicationService.getUserJobApplications(appUser);
+        if (body == null) {
+            JobApplicationPageResponse page = jobApplicationService.getUserJobApplications(user.id(), filter, cursor, size);
+            body = listCache.put(user.id(), version, variant, objectMapper.writeValueAsBytes(page));
+        }
 
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (!body.gzipped()) {
+            return response.eTag(etag).body(body.bytes());
+        }
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(gzipETag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.bytes());
+        }
+        return response.eTag(etag).body(JobApplicationListCache.gunzip(body.bytes()));
     }
 
-    // Update Job Application
-    @PutMapping("/{id}")
-    public ResponseEntity<Void> updateJobApplication(@PathVariable("id") Long id, @RequestBody JobApplicationRequest request, Authentication authentication) {
+    // Ranked full-text search over company, position and notes (?q=&cursor=&size=), words match as prefixes
+    @GetMapping("/search")
+    public ResponseEntity<JobApplicationPageResponse> searchJobApplications(@RequestParam("q") String q,
+                                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                                            @RequestParam(value = "size", required = false) Integer size,
+                                                                            @CurrentUser AppUserPrincipal user,
+                                                                            WebRequest webRequest) {
 
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
+        String etag = collectionETag(user);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
 
-        jobApplicationService.updateJobApplication(id, request, appUser);
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag)
+                .body(jobApplicationService.searchJobApplications(user.id(), q, cursor, size));
+    }
+
+    // Totals by status and by month of appliedDate, read from the per-user counters
+    @GetMapping("/stats")
+    public ResponseEntity<JobApplicationStatsResponse> getStats(@CurrentUser AppUserPrincipal user, WebRequest webRequest) {
+
+        String etag = collectionETag(user);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok().cacheControl(REVALIDATE).eTag(etag).body(jobApplicationService.getStats(user.id()));
+    }
+
+    // Update Job Application; with If-Match: "<version>" only if nobody changed it since (412 otherwise)
+    @PutMapping("/{id}")
+    public ResponseEntity<Void> updateJobApplication(@PathVariable("id") Long id, @RequestBody JobApplicationRequest request,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     @CurrentUser AppUserPrincipal user) {
 
-        return ResponseEntity.ok().build();
+        long version = jobApplicationService.updateJobApplication(id, request, user.id(), expectedVersions(ifMatch));
 
+        return ResponseEntity.ok().eTag(String.valueOf(version)).build();
     }
 
     // Delete Job Application
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteJobApplication(@PathVariable("id") Long id, Authentication authentication) {
+    public ResponseEntity<Void> deleteJobApplication(@PathVariable("id") Long id, @CurrentUser AppUserPrincipal user) {
 
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
-
-        jobApplicationService.deleteJobApplication(id, appUser);
+        jobApplicationService.deleteJobApplication(id, user.id());
 
         return ResponseEntity.noContent().build();
     }
 
     // Update Job Status
     @PatchMapping("/{id}") // Change Status
-    public ResponseEntity<Void> updateJobStatus(@PathVariable Long id, @RequestBody UpdateJobStatusRequest request, Authentication authentication) {
+    public ResponseEntity<Void> updateJobStatus(@PathVariable Long id, @Valid @RequestBody UpdateJobStatusRequest request,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                @CurrentUser AppUserPrincipal user) {
+
+        long version = jobApplicationService.updateJobStatus(id, request, user.id(), expectedVersions(ifMatch));
+
+        return ResponseEntity.ok().eTag(String.valueOf(version)).build();
+    }
+
+    // Batch endpoints: up to 500 items ({"items":[{"id":1,"version":3},...]}, version optional), one statement
+    // in one transaction, 200 with an outcome per id even when some items are rejected
+    @PostMapping("/batch/status")
+    public ResponseEntity<JobApplicationBatchResponse> updateJobStatuses(@Valid @RequestBody JobApplicationBatchRequest request,
+                                                                         @CurrentUser AppUserPrincipal user) {
+
+        return ResponseEntity.ok(jobApplicationService.updateJobStatuses(request, user.id()));
+    }
+
+    @PostMapping("/batch/update")
+    public ResponseEntity<JobApplicationBatchResponse> updateJobApplications(@Valid @RequestBody JobApplicationBatchRequest request,
+                                                                             @CurrentUser AppUserPrincipal user) {
+
+        return ResponseEntity.ok(jobApplicationService.updateJobApplications(request, user.id()));
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseEntity<JobApplicationBatchResponse> deleteJobApplications(@Valid @RequestBody JobApplicationBatchRequest request,
+                                                                             @CurrentUser AppUserPrincipal user) {
+
+        return ResponseEntity.ok(jobApplicationService.deleteJobApplications(request, user.id()));
+    }
+
+    // Strong ETag of everything derived from the user's applications; one primary-key lookup
+    private String collectionETag(AppUserPrincipal user) {
+
+        return eTag(jobApplicationService.getCollectionVersion(user.id()));
+    }
+
+    private static String eTag(long collectionVersion) {
+
+        return ETag.quoteETagIfNecessary(String.valueOf(collectionVersion));
+    }
+
+    // The first of `candidates` named by If-None-Match (weak comparison, as for GET), null when none is
+    private static String matchingETag(String ifNoneMatch, String... candidates) {
+
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (ETag sent : ETag.parse(ifNoneMatch)) {
+            for (String candidate : candidates) {
+                if (sent.isWildcard() || sent.compare(ETag.create(candidate), false)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    // If-Match -> the application versions it accepts; null when absent or "*" (any existing application).
+    // Weak or non-numeric tags never match, so they end in 412
+    private static Long[] expectedVersions(String ifMatch) {
 
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
 
-        jobApplicationService.updateJobStatus(id, request, appUser);
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.stream().anyMatch(ETag::isWildcard)) {
+            return null;
+        }
 
-        return ResponseEntity.ok().build();
+        return tags.stream()
+                .filter(tag -> !tag.weak() && tag.tag().chars().allMatch(Character::isDigit) && !tag.tag().isEmpty())
+                .map(tag -> Long.parseLong(tag.tag()))
+                .toArray(Long[]::new);
     }
 
 
@@ -0,0 +1,40 @@
+package com.david.worktrack.job.dto;
+
+import com.david.worktrack.job.entity.ApplicationStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Body of the batch endpoints. Delete only reads `items`, status change only `status`;
+// the field update sets every non-null field on all the items and leaves the others as they are
+@Data
+public class JobApplicationBatchRequest {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    @NotEmpty(message = "items is required")
+    @Size(max = MAX_BATCH_SIZE, message = "at most " + MAX_BATCH_SIZE + " items per batch")
+    @Valid
+    private List<Item> items;
+
+    private ApplicationStatus status;
+    private String companyName;
+    private String position;
+    private LocalDate appliedDate;
+    private String notes;
+
+    // version: optional, same meaning as If-Match on the single-item endpoints
+    @Data
+    public static class Item {
+
+        @NotNull(message = "id is required")
+        private Long id;
+
+        private Long version;
+    }
+}
@@ -0,0 +1,19 @@
+package com.david.worktrack.job.dto;
+
+import java.util.List;
+
+// One result per distinct requested id, in id order
+public record JobApplicationBatchResponse(List<Result> results) {
+
+    public enum Outcome {
+        UPDATED,
+        DELETED,
+        NOT_FOUND,              // no such application of the user
+        VERSION_MISMATCH,       // the item's version is not the current one
+        TRANSITION_NOT_ALLOWED  // the application's status cannot move to the requested one
+    }
+
+    // version: the new version when updated, the current one when rejected, null when deleted or not found
+    public record Result(Long id, Outcome outcome, Long version) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.david.worktrack.job.dto;
+
+import com.david.worktrack.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset position: the (appliedDate, id) of the last row of the previous page
+public record JobApplicationCursor(LocalDate appliedDate, Long id) {
+
+    public String encode() {
+
+        String raw = appliedDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobApplicationCursor decode(String cursor) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+
+            return new JobApplicationCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
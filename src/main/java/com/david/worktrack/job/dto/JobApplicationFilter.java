@@ -0,0 +1,18 @@
+package com.david.worktrack.job.dto;
+
+import com.david.worktrack.job.entity.ApplicationStatus;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+@Data
+public class JobApplicationFilter {
+    private ApplicationStatus status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+}
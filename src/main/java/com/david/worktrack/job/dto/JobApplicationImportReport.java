@@ -0,0 +1,16 @@
+package com.david.worktrack.job.dto;
+
+import java.util.List;
+
+// Outcome of a bulk import; errors holds at most the first 100 rejected rows
+public record JobApplicationImportReport(
+        long imported,
+        long rejected,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+
+    // row: 1-based record number (the CSV header row is not counted)
+    public record RowError(long row, String message) {
+    }
+}
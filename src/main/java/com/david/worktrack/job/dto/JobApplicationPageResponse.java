@@ -0,0 +1,10 @@
+package com.david.worktrack.job.dto;
+
+import java.util.List;
+
+// nextCursor is null when there are no more rows
+public record JobApplicationPageResponse(
+        List<JobApplicationResponse> items,
+        String nextCursor
+) {
+}
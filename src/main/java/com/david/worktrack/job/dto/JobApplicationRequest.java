@@ -1,5 +1,6 @@
 package com.david.worktrack.job.dto;
 
+import com.david.worktrack.job.entity.ApplicationStatus;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -8,7 +9,7 @@ import java.time.LocalDate;
 public class JobApplicationRequest {
     private String companyName;
     private String position;
-    private String status;
+    private ApplicationStatus status; // APPLIED when omitted on create, unchanged when omitted on update
     private LocalDate appliedDate;
     private String notes;
 }
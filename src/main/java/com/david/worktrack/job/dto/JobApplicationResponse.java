@@ -1,5 +1,6 @@
 package com.david.worktrack.job.dto;
 
+import com.david.worktrack.job.entity.ApplicationStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -11,7 +12,8 @@ public class JobApplicationResponse {
     private Long id;
     private String companyName;
     private String position;
-    private String status;
+    private ApplicationStatus status;
     private LocalDate appliedDate;
     private String notes;
+    private Long version; // send as If-Match: "<version>" to update only if unchanged
 }
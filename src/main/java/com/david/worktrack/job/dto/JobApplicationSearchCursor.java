@@ -0,0 +1,51 @@
+package com.david.worktrack.job.dto;
+
+import com.david.worktrack.common.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Opaque keyset position in search results: the (rank, id) of the last row of the previous page, or its
+// (appliedDate, id) when the query matched too many rows to be ranked (then rank is null).
+// Float.toString round-trips exactly, so the next page starts right after that row
+public record JobApplicationSearchCursor(Float rank, LocalDate appliedDate, Long id) {
+
+    // Newest-first pages are marked with this prefix; a float never starts with it
+    private static final String BY_DATE = "d";
+
+    public static JobApplicationSearchCursor byRank(float rank, Long id) {
+        return new JobApplicationSearchCursor(rank, null, id);
+    }
+
+    public static JobApplicationSearchCursor byDate(LocalDate appliedDate, Long id) {
+        return new JobApplicationSearchCursor(null, appliedDate, id);
+    }
+
+    public boolean ranked() {
+        return rank != null;
+    }
+
+    public String encode() {
+
+        String raw = ranked() ? rank + ":" + id : BY_DATE + appliedDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static JobApplicationSearchCursor decode(String cursor) {
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            Long id = Long.parseLong(raw.substring(separator + 1));
+
+            if (raw.startsWith(BY_DATE)) {
+                return byDate(LocalDate.parse(raw.substring(BY_DATE.length(), separator)), id);
+            }
+            return byRank(Float.parseFloat(raw.substring(0, separator)), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
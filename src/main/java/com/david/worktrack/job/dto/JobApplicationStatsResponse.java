@@ -0,0 +1,11 @@
+package com.david.worktrack.job.dto;
+
+import java.util.Map;
+
+// byStatus is keyed by ApplicationStatus name, byMonth by "yyyy-MM" (month of appliedDate), newest first
+public record JobApplicationStatsResponse(
+        long total,
+        Map<String, Long> byStatus,
+        Map<String, Long> byMonth
+) {
+}
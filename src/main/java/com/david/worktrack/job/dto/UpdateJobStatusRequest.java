@@ -1,10 +1,14 @@
 package com.david.worktrack.job.dto;
 
+import com.david.worktrack.job.entity.ApplicationStatus;
+import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
 public class UpdateJobStatusRequest {
-    private String status;
+
+    @NotNull(message = "status is required")
+    private ApplicationStatus status;
 }
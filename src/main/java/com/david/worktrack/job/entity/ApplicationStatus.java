@@ -0,0 +1,67 @@
+package com.david.worktrack.job.entity;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lifecycle of a job application, stored as a smallint code (see ApplicationStatusConverter).
+ * Codes are persisted: never renumber or reuse one, only add new ones.
+ *
+ * APPLIED -> INTERVIEW -> OFFER -> ACCEPTED, and REJECTED / WITHDRAWN from any open state.
+ * ACCEPTED, REJECTED and WITHDRAWN are final. Setting the current status again is always allowed.
+ */
+public enum ApplicationStatus {
+
+    APPLIED(1),
+    INTERVIEW(2),
+    OFFER(3),
+    ACCEPTED(4),
+    REJECTED(5),
+    WITHDRAWN(6);
+
+    private final short code;
+
+    ApplicationStatus(int code) {
+        this.code = (short) code;
+    }
+
+    public short code() {
+        return code;
+    }
+
+    public static ApplicationStatus fromCode(short code) {
+
+        for (ApplicationStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown application status code " + code);
+    }
+
+    private Set<ApplicationStatus> next() {
+
+        return switch (this) {
+            case APPLIED -> EnumSet.of(INTERVIEW, OFFER, REJECTED, WITHDRAWN);
+            case INTERVIEW -> EnumSet.of(OFFER, REJECTED, WITHDRAWN); // another round keeps INTERVIEW
+            case OFFER -> EnumSet.of(ACCEPTED, REJECTED, WITHDRAWN);
+            case ACCEPTED, REJECTED, WITHDRAWN -> EnumSet.noneOf(ApplicationStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(ApplicationStatus target) {
+
+        return target == this || next().contains(target);
+    }
+
+    // Codes of the statuses an application may be in to move to `target`
+    public static Set<Short> codesAllowedBefore(ApplicationStatus target) {
+
+        return Arrays.stream(values())
+                .filter(status -> status.canTransitionTo(target))
+                .map(ApplicationStatus::code)
+                .collect(Collectors.toSet());
+    }
+}
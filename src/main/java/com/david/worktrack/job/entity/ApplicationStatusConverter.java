@@ -0,0 +1,19 @@
+package com.david.worktrack.job.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// 2 bytes per row instead of a varchar, and the column can only hold known codes
+@Converter
+public class ApplicationStatusConverter implements AttributeConverter<ApplicationStatus, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(ApplicationStatus status) {
+        return status == null ? null : status.code();
+    }
+
+    @Override
+    public ApplicationStatus convertToEntityAttribute(Short code) {
+        return code == null ? null : ApplicationStatus.fromCode(code);
+    }
+}
@@ -10,28 +10,43 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "job_application")
+@Table(name = "job_application", indexes = {
+        // Keyset pagination: WHERE user_id = ? ORDER BY applied_date DESC, id DESC
+        @Index(name = "idx_job_application_user_applied", columnList = "user_id, applied_date DESC, id DESC"),
+        // Same ordering when the list is filtered by status; also the (user_id, status) index
+        @Index(name = "idx_job_application_user_status_applied", columnList = "user_id, status, applied_date DESC, id DESC")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder
 public class JobApplication {
 
+    // Pooled sequence (50 ids per round trip) so inserts can be JDBC-batched; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SequenceGenerator(name = "job_application_sequence", sequenceName = "job_application_sequence", allocationSize = 50)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_application_sequence")
     private Long id;
 
+    // Bumped by every update; exposed as the ETag of the application for If-Match
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     private String companyName;
     private String position;
-    private String status; // APPLIED, INTERVIEW, OFFER, REJECTED, etc.
+    @Convert(converter = ApplicationStatusConverter.class)
+    @Column(nullable = false)
+    private ApplicationStatus status;
 
+    @Column(nullable = false)
     private LocalDate appliedDate;
 
     @Column(length = 2000)
     private String notes;
 
     // Link to the User who owns this application
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private AppUser appUser;
 }
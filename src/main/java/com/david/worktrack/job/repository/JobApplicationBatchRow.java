@@ -0,0 +1,10 @@
+package com.david.worktrack.job.repository;
+
+// One row per requested id from the batch methods of JobApplicationRepository; the JobApplicationChange
+// values are only meaningful when the outcome is UPDATED or DELETED
+public interface JobApplicationBatchRow extends JobApplicationChange {
+
+    Long getId();
+
+    String getOutcome();
+}
@@ -0,0 +1,18 @@
+package com.david.worktrack.job.repository;
+
+import java.time.LocalDate;
+
+// Status code and applied date of a row before and after a write, and its new version, as returned by
+// the *Owned methods of JobApplicationRepository; the new values are null for a delete
+public interface JobApplicationChange {
+
+    Short getOldStatus();
+
+    LocalDate getOldAppliedDate();
+
+    Short getNewStatus();
+
+    LocalDate getNewAppliedDate();
+
+    Long getNewVersion();
+}
@@ -0,0 +1,40 @@
+package com.david.worktrack.job.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * job_application_collection_version: a per-user counter bumped by every write to the user's
+ * applications, used as the ETag of everything derived from them (list, search, stats).
+ */
+@Repository
+public class JobApplicationCollectionVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobApplicationCollectionVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Primary-key lookup; 0 until the user's first write
+    public long find(Long userId) {
+
+        List<Long> version = jdbcTemplate.queryForList(
+                "SELECT version FROM job_application_collection_version WHERE user_id = ?", Long.class, userId);
+
+        return version.isEmpty() ? 0 : version.get(0);
+    }
+
+    // Row-locks the user's counter until commit, so the user's concurrent writes get distinct versions.
+    // Writers call it before touching job_application_counter: the stats repair takes the same lock first
+    public void bump(Long userId) {
+
+        jdbcTemplate.update("""
+                INSERT INTO job_application_collection_version AS v (user_id, version)
+                VALUES (?, 1)
+                ON CONFLICT (user_id) DO UPDATE SET version = v.version + 1
+                """, userId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.david.worktrack.job.repository;
+
+import com.david.worktrack.job.dto.JobApplicationFilter;
+import com.david.worktrack.job.dto.JobApplicationResponse;
+import com.david.worktrack.job.entity.ApplicationStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Forward-only read of all of a user's applications for export.
+ * Plain JDBC with a fetch size: Postgres only streams rows through a cursor when this runs inside a
+ * transaction (autocommit off), so callers must open one; otherwise the driver loads the whole result.
+ */
+@Repository
+public class JobApplicationExportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobApplicationExportRepository(DataSource dataSource,
+                                          @Value("${app.applications.export.fetch-size:500}") int fetchSize) {
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    // Same order and filters as the paginated listing; each row goes to `sink` as soon as it is read
+    public void streamByUser(Long userId, JobApplicationFilter filter, Consumer<JobApplicationResponse> sink) {
+
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, company_name, position, status, applied_date, notes, version
+                FROM job_application
+                WHERE user_id = ?
+                """);
+        List<Object> params = new ArrayList<>();
+        params.add(userId);
+
+        if (filter.getStatus() != null) {
+            sql.append(" AND status = ?");
+            params.add(filter.getStatus().code());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND applied_date >= ?");
+            params.add(Date.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND applied_date <= ?");
+            params.add(Date.valueOf(filter.getTo()));
+        }
+        sql.append(" ORDER BY applied_date DESC, id DESC");
+
+        jdbcTemplate.query(sql.toString(), rs -> {
+            sink.accept(new JobApplicationResponse(
+                    rs.getLong("id"),
+                    rs.getString("company_name"),
+                    rs.getString("position"),
+                    ApplicationStatus.fromCode(rs.getShort("status")),
+                    rs.getDate("applied_date").toLocalDate(),
+                    rs.getString("notes"),
+                    rs.getLong("version")
+            ));
+        }, params.toArray());
+    }
+}
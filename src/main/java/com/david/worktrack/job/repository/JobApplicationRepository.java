@@ -1,17 +1,200 @@
 package com.david.worktrack.job.repository;
 
+import com.david.worktrack.job.entity.ApplicationStatus;
 import com.david.worktrack.job.entity.JobApplication;
-import com.david.worktrack.user.entity.AppUser;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface JobApplicationRepository  extends JpaRepository<JobApplication, Long> {
 
-    List<JobApplication> findByAppUser(AppUser appUser);
+    // First page of the keyset listing (newest first)
+    @Query("""
+        SELECT j FROM JobApplication j
+        WHERE j.appUser.id = :userId
+          AND (:status IS NULL OR j.status = :status)
+          AND (CAST(:from AS LocalDate) IS NULL OR j.appliedDate >= :from)
+          AND (CAST(:to AS LocalDate) IS NULL OR j.appliedDate <= :to)
+        ORDER BY j.appliedDate DESC, j.id DESC
+    """)
+    List<JobApplication> findFirstPage(@Param("userId") Long userId,
+                                       @Param("status") ApplicationStatus status,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       Pageable pageable);
 
-    Optional<JobApplication> findByIdAndAppUser(Long id, AppUser appUser);
+    // Next page: seeks past the (appliedDate, id) of the last row already returned,
+    // so the cost does not depend on how deep the cursor is
+    @Query("""
+        SELECT j FROM JobApplication j
+        WHERE j.appUser.id = :userId
+          AND (j.appliedDate, j.id) < (:afterDate, :afterId)
+          AND (:status IS NULL OR j.status = :status)
+          AND (CAST(:from AS LocalDate) IS NULL OR j.appliedDate >= :from)
+          AND (CAST(:to AS LocalDate) IS NULL OR j.appliedDate <= :to)
+        ORDER BY j.appliedDate DESC, j.id DESC
+    """)
+    List<JobApplication> findPageAfter(@Param("userId") Long userId,
+                                       @Param("afterDate") LocalDate afterDate,
+                                       @Param("afterId") Long afterId,
+                                       @Param("status") ApplicationStatus status,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to,
+                                       Pageable pageable);
+
+    // Ownership is part of the WHERE clause -> one statement, empty if the row is not the user's.
+    // The status transition and the If-Match precondition are checked in the same statement: the row is
+    // only updated if its current status is in `allowedFrom` and, when `expectedVersions` is not null,
+    // its version is one of them. Postgres RETURNING only sees the new row, so the old status/date
+    // (for the stats counters) come from a self-join on the locked row.
+    @Query(value = """
+        UPDATE job_application j
+        SET company_name = :companyName,
+            position = :position,
+            status = COALESCE(CAST(:status AS smallint), old.status),
+            applied_date = :appliedDate,
+            notes = :notes,
+            version = old.version + 1
+        FROM (SELECT id, status, applied_date, version FROM job_application WHERE id = :id AND user_id = :userId FOR UPDATE) old
+        WHERE j.id = old.id
+          AND old.status IN (:allowedFrom)
+          AND (CAST(:expectedVersions AS bigint[]) IS NULL OR old.version = ANY(CAST(:expectedVersions AS bigint[])))
+        RETURNING old.status AS "oldStatus", old.applied_date AS "oldAppliedDate",
+                  j.status AS "newStatus", j.applied_date AS "newAppliedDate", j.version AS "newVersion"
+    """, nativeQuery = true)
+    Optional<JobApplicationChange> updateOwned(@Param("id") Long id,
+                                               @Param("userId") Long userId,
+                                               @Param("companyName") String companyName,
+                                               @Param("position") String position,
+                                               @Param("status") Short status,
+                                               @Param("allowedFrom") Collection<Short> allowedFrom,
+                                               @Param("expectedVersions") Long[] expectedVersions,
+                                               @Param("appliedDate") LocalDate appliedDate,
+                                               @Param("notes") String notes);
+
+    @Query(value = """
+        UPDATE job_application j
+        SET status = :status,
+            version = old.version + 1
+        FROM (SELECT id, status, version FROM job_application WHERE id = :id AND user_id = :userId FOR UPDATE) old
+        WHERE j.id = old.id
+          AND old.status IN (:allowedFrom)
+          AND (CAST(:expectedVersions AS bigint[]) IS NULL OR old.version = ANY(CAST(:expectedVersions AS bigint[])))
+        RETURNING old.status AS "oldStatus", j.applied_date AS "oldAppliedDate",
+                  j.status AS "newStatus", j.applied_date AS "newAppliedDate", j.version AS "newVersion"
+    """, nativeQuery = true)
+    Optional<JobApplicationChange> updateStatusOwned(@Param("id") Long id,
+                                                     @Param("userId") Long userId,
+                                                     @Param("status") Short status,
+                                                     @Param("allowedFrom") Collection<Short> allowedFrom,
+                                                     @Param("expectedVersions") Long[] expectedVersions);
+
+    @Query(value = """
+        DELETE FROM job_application
+        WHERE id = :id AND user_id = :userId
+        RETURNING status AS "oldStatus", applied_date AS "oldAppliedDate",
+                  CAST(NULL AS smallint) AS "newStatus", CAST(NULL AS date) AS "newAppliedDate",
+                  CAST(NULL AS bigint) AS "newVersion"
+    """, nativeQuery = true)
+    Optional<JobApplicationChange> deleteOwned(@Param("id") Long id,
+                                               @Param("userId") Long userId);
+
+    // Batch form of updateOwned: one statement for all `ids` of the user, rows locked in id order so two batches
+    // cannot deadlock. Null fields keep the current value. `ids` must be distinct; `expectedVersions[i]`
+    // (may be null) is the precondition for `ids[i]`. Returns one row per id with its outcome
+    @Query(value = """
+        WITH req AS (
+            SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:expectedVersions AS bigint[])) AS r(id, expected_version)
+        ), old AS (
+            SELECT id, status, applied_date, version FROM job_application
+            WHERE user_id = :userId AND id = ANY(CAST(:ids AS bigint[]))
+            ORDER BY id
+            FOR UPDATE
+        ), upd AS (
+            UPDATE job_application j
+            SET company_name = COALESCE(CAST(:companyName AS varchar), j.company_name),
+                position = COALESCE(CAST(:position AS varchar), j.position),
+                status = COALESCE(CAST(:status AS smallint), j.status),
+                applied_date = COALESCE(CAST(:appliedDate AS date), j.applied_date),
+                notes = COALESCE(CAST(:notes AS varchar), j.notes),
+                version = old.version + 1
+            FROM old JOIN req ON req.id = old.id
+            WHERE j.id = old.id
+              AND old.status IN (:allowedFrom)
+              AND (req.expected_version IS NULL OR old.version = req.expected_version)
+            RETURNING j.id, j.status, j.applied_date, j.version
+        )
+        SELECT req.id AS "id",
+               CASE WHEN old.id IS NULL THEN 'NOT_FOUND'
+                    WHEN upd.id IS NOT NULL THEN 'UPDATED'
+                    WHEN req.expected_version IS NOT NULL AND old.version <> req.expected_version THEN 'VERSION_MISMATCH'
+                    ELSE 'TRANSITION_NOT_ALLOWED' END AS "outcome",
+               old.status AS "oldStatus", old.applied_date AS "oldAppliedDate",
+               upd.status AS "newStatus", upd.applied_date AS "newAppliedDate",
+               COALESCE(upd.version, old.version) AS "newVersion"
+        FROM req
+        LEFT JOIN old ON old.id = req.id
+        LEFT JOIN upd ON upd.id = req.id
+        ORDER BY req.id
+    """, nativeQuery = true)
+    List<JobApplicationBatchRow> updateManyOwned(@Param("userId") Long userId,
+                                                 @Param("ids") Long[] ids,
+                                                 @Param("expectedVersions") Long[] expectedVersions,
+                                                 @Param("companyName") String companyName,
+                                                 @Param("position") String position,
+                                                 @Param("status") Short status,
+                                                 @Param("allowedFrom") Collection<Short> allowedFrom,
+                                                 @Param("appliedDate") LocalDate appliedDate,
+                                                 @Param("notes") String notes);
+
+    // Batch delete, same shape as updateManyOwned
+    @Query(value = """
+        WITH req AS (
+            SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:expectedVersions AS bigint[])) AS r(id, expected_version)
+        ), old AS (
+            SELECT id, status, applied_date, version FROM job_application
+            WHERE user_id = :userId AND id = ANY(CAST(:ids AS bigint[]))
+            ORDER BY id
+            FOR UPDATE
+        ), del AS (
+            DELETE FROM job_application j
+            USING old JOIN req ON req.id = old.id
+            WHERE j.id = old.id
+              AND (req.expected_version IS NULL OR old.version = req.expected_version)
+            RETURNING j.id
+        )
+        SELECT req.id AS "id",
+               CASE WHEN old.id IS NULL THEN 'NOT_FOUND'
+                    WHEN del.id IS NOT NULL THEN 'DELETED'
+                    ELSE 'VERSION_MISMATCH' END AS "outcome",
+               old.status AS "oldStatus", old.applied_date AS "oldAppliedDate",
+               CAST(NULL AS smallint) AS "newStatus", CAST(NULL AS date) AS "newAppliedDate",
+               CASE WHEN del.id IS NULL THEN old.version END AS "newVersion"
+        FROM req
+        LEFT JOIN old ON old.id = req.id
+        LEFT JOIN del ON del.id = req.id
+        ORDER BY req.id
+    """, nativeQuery = true)
+    List<JobApplicationBatchRow> deleteManyOwned(@Param("userId") Long userId,
+                                                 @Param("ids") Long[] ids,
+                                                 @Param("expectedVersions") Long[] expectedVersions);
+
+    record CurrentState(ApplicationStatus status, Long version) {
+    }
+
+    // Only read when an update touched no row, to tell "not found", "precondition failed" and "transition not allowed" apart
+    @Query("""
+        SELECT new com.david.worktrack.job.repository.JobApplicationRepository$CurrentState(j.status, j.version)
+        FROM JobApplication j
+        WHERE j.id = :id AND j.appUser.id = :userId
+    """)
+    Optional<CurrentState> findStateOwned(@Param("id") Long id, @Param("userId") Long userId);
 }
@@ -0,0 +1,103 @@
+package com.david.worktrack.job.repository;
+
+import com.david.worktrack.job.dto.JobApplicationResponse;
+import com.david.worktrack.job.entity.ApplicationStatus;
+import com.david.worktrack.job.dto.JobApplicationSearchCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranked full-text search on the generated job_application.search_vector column.
+ * The (user_id, search_vector) GIN index finds the matching rows; at most a bounded number of them are ranked
+ * and sorted. Queries matching more rows than that are served newest first instead (searchByDate).
+ */
+@Repository
+public class JobApplicationSearchRepository {
+
+    public record Hit(JobApplicationResponse application, float rank) {
+    }
+
+    public record RankedHits(List<Hit> hits, boolean truncated) {
+    }
+
+    private static final RowMapper<Hit> HIT_MAPPER = (rs, i) -> new Hit(
+            new JobApplicationResponse(
+                    rs.getLong("id"),
+                    rs.getString("company_name"),
+                    rs.getString("position"),
+                    ApplicationStatus.fromCode(rs.getShort("status")),
+                    rs.getDate("applied_date").toLocalDate(),
+                    rs.getString("notes"),
+                    rs.getLong("version")
+            ),
+            rs.getFloat("rank")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobApplicationSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // `tsQuery` is to_tsquery syntax; best match first, id breaks ties. `after` is null for the first page.
+    // Only the newest `maxCandidates` + 1 matches (applied date, then id) are read and ranked, so the cost is
+    // bounded however broad the query is. The fixed order keeps the candidate set the same from one page to the
+    // next; `truncated` says the query matched more than that and the ranking covers only the newest ones
+    public RankedHits searchByRank(Long userId, String tsQuery, JobApplicationSearchCursor after, int limit, int maxCandidates) {
+
+        List<Hit> hits = new ArrayList<>();
+        boolean[] truncated = {false};
+
+        jdbcTemplate.query("""
+                WITH candidates AS MATERIALIZED (
+                    SELECT j.id, j.company_name, j.position, j.status, j.applied_date, j.notes, j.version,
+                           ts_rank(j.search_vector, q.query) AS rank
+                    FROM job_application j, to_tsquery('simple', ?) AS q(query)
+                    WHERE j.user_id = ? AND j.search_vector @@ q.query
+                    ORDER BY j.applied_date DESC, j.id DESC
+                    LIMIT ?
+                )
+                SELECT c.*, (SELECT count(*) FROM candidates) AS candidates
+                FROM candidates c
+                WHERE CAST(? AS real) IS NULL OR (rank, id) < (CAST(? AS real), ?)
+                ORDER BY rank DESC, id DESC
+                LIMIT ?
+                """,
+                rs -> {
+                    truncated[0] = rs.getLong("candidates") > maxCandidates;
+                    hits.add(HIT_MAPPER.mapRow(rs, hits.size()));
+                },
+                tsQuery, userId, maxCandidates + 1,
+                after == null ? null : after.rank(),
+                after == null ? null : after.rank(),
+                after == null ? null : after.id(),
+                limit);
+
+        return new RankedHits(hits, truncated[0]);
+    }
+
+    // For queries with too many matches to rank: newest first, walking idx_job_application_user_applied and
+    // stopping after `limit` matches, so a broad query is the cheap case. Only the returned rows are ranked
+    public List<Hit> searchByDate(Long userId, String tsQuery, JobApplicationSearchCursor after, int limit) {
+
+        return jdbcTemplate.query("""
+                SELECT j.id, j.company_name, j.position, j.status, j.applied_date, j.notes, j.version,
+                       ts_rank(j.search_vector, q.query) AS rank
+                FROM job_application j, to_tsquery('simple', ?) AS q(query)
+                WHERE j.user_id = ? AND j.search_vector @@ q.query
+                  AND (CAST(? AS date) IS NULL OR (j.applied_date, j.id) < (CAST(? AS date), ?))
+                ORDER BY j.applied_date DESC, j.id DESC
+                LIMIT ?
+                """,
+                HIT_MAPPER,
+                tsQuery, userId,
+                after == null ? null : after.appliedDate(),
+                after == null ? null : after.appliedDate(),
+                after == null ? null : after.id(),
+                limit);
+    }
+}
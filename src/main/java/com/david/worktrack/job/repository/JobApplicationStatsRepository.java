@@ -0,0 +1,118 @@
+package com.david.worktrack.job.repository;
+
+import com.david.worktrack.job.entity.ApplicationStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * job_application_counter: application count per (user, status, month of applied date).
+ * Plain JDBC; joins the surrounding JPA transaction, so counters change atomically with the rows.
+ * Writers must have bumped the user's collection version first (see repair()).
+ */
+@Repository
+public class JobApplicationStatsRepository {
+
+    public record Counter(ApplicationStatus status, LocalDate month, long count) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobApplicationStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void add(Long userId, ApplicationStatus status, LocalDate month, long delta) {
+
+        jdbcTemplate.update("""
+                INSERT INTO job_application_counter AS c (user_id, status, month, count)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (user_id, status, month) DO UPDATE SET count = c.count + EXCLUDED.count
+                """, userId, status.code(), month, delta);
+    }
+
+    // Several deltas of one user in one round trip (JDBC batch); callers pass them in a fixed order so that two
+    // batches of the same user lock the counter rows in the same order
+    public void add(Long userId, List<Counter> deltas) {
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO job_application_counter AS c (user_id, status, month, count)
+                VALUES (?, ?, ?, ?)
+                ON CONFLICT (user_id, status, month) DO UPDATE SET count = c.count + EXCLUDED.count
+                """,
+                deltas,
+                deltas.size(),
+                (ps, delta) -> {
+                    ps.setLong(1, userId);
+                    ps.setShort(2, delta.status().code());
+                    ps.setObject(3, delta.month());
+                    ps.setLong(4, delta.count());
+                });
+    }
+
+    // A few rows per user (statuses x months), whatever the number of applications
+    public List<Counter> findByUser(Long userId) {
+
+        return jdbcTemplate.query("""
+                SELECT status, month, count
+                FROM job_application_counter
+                WHERE user_id = ? AND count <> 0
+                """,
+                (rs, i) -> new Counter(ApplicationStatus.fromCode(rs.getShort("status")), rs.getDate("month").toLocalDate(), rs.getLong("count")),
+                userId);
+    }
+
+    public List<Long> findUserIdsAfter(long afterId, int limit) {
+
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE id > ? ORDER BY id LIMIT ?", Long.class, afterId, limit);
+    }
+
+    // Recomputes the counters of these users from job_application; returns how many were wrong.
+    // The users' collection version rows are locked first (writers bump them before touching their counters), so no
+    // write of these users is in flight while `actual` is computed and none can start before the counters are rewritten
+    @Transactional
+    public int repair(Long[] userIds) {
+
+        // A user without a version row yet would not be locked: create it, at 0 (what a missing row means anyway)
+        jdbcTemplate.update("""
+                INSERT INTO job_application_collection_version (user_id, version)
+                SELECT user_id, 0 FROM unnest(?::bigint[]) AS user_id
+                ON CONFLICT (user_id) DO NOTHING
+                """, (Object) userIds);
+        jdbcTemplate.queryForList("""
+                SELECT user_id FROM job_application_collection_version
+                WHERE user_id = ANY(?)
+                ORDER BY user_id
+                FOR UPDATE
+                """, Long.class, (Object) userIds);
+
+        // New statement -> new snapshot: it sees every write that committed while we waited for the locks
+        Integer repaired = jdbcTemplate.queryForObject("""
+                WITH actual AS (
+                    SELECT user_id, status,
+                           date_trunc('month', applied_date)::date AS month, count(*) AS count
+                    FROM job_application
+                    WHERE user_id = ANY(?)
+                    GROUP BY 1, 2, 3
+                ), upserted AS (
+                    INSERT INTO job_application_counter AS c (user_id, status, month, count)
+                    SELECT user_id, status, month, count FROM actual
+                    ON CONFLICT (user_id, status, month) DO UPDATE SET count = EXCLUDED.count
+                    WHERE c.count <> EXCLUDED.count
+                    RETURNING 1
+                ), removed AS (
+                    DELETE FROM job_application_counter c
+                    WHERE c.user_id = ANY(?)
+                      AND NOT EXISTS (SELECT 1 FROM actual a
+                                      WHERE a.user_id = c.user_id AND a.status = c.status AND a.month = c.month)
+                    RETURNING c.count
+                )
+                SELECT (SELECT count(*) FROM upserted) + (SELECT count(*) FROM removed WHERE count <> 0)
+                """, Integer.class, userIds, userIds);
+
+        return repaired == null ? 0 : repaired;
+    }
+}
@@ -0,0 +1,37 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.common.exception.BusinessException;
+
+// File formats accepted by import and produced by export
+public enum ApplicationFileFormat {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String mediaType;
+    private final String extension;
+
+    ApplicationFileFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    // ?format=csv | ndjson
+    public static ApplicationFileFormat fromParameter(String value) {
+
+        for (ApplicationFileFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new BusinessException("format must be csv or ndjson");
+    }
+}
@@ -0,0 +1,105 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.common.exception.ServiceUnavailableException;
+import com.david.worktrack.job.dto.JobApplicationFilter;
+import com.david.worktrack.job.dto.JobApplicationResponse;
+import com.david.worktrack.job.repository.JobApplicationExportRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Export of all of a user's applications, written row by row from a database cursor straight
+ * into the response (optionally gzipped), so heap use does not depend on the number of rows.
+ * An export holds a pooled connection until it is done, so at most `max-concurrent` run at once.
+ */
+@Service
+public class JobApplicationExportService {
+
+    private final JobApplicationExportRepository exportRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectWriter csvWriter;
+    private final ObjectWriter ndjsonWriter;
+    private final Semaphore running;
+
+    public JobApplicationExportService(JobApplicationExportRepository exportRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       ObjectMapper objectMapper,
+                                       @Value("${app.applications.export.max-concurrent:4}") int maxConcurrent) {
+
+        this.exportRepository = exportRepository;
+
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        // Same columns as the import expects, so an export can be imported again
+        CsvMapper csvMapper = CsvMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("companyName")
+                .addColumn("position")
+                .addColumn("status")
+                .addColumn("appliedDate")
+                .addColumn("notes")
+                .addColumn("version")
+                .setUseHeader(true)
+                .build();
+        this.csvWriter = csvMapper.writerFor(JobApplicationResponse.class).with(schema);
+        this.ndjsonWriter = objectMapper.writerFor(JobApplicationResponse.class).withRootValueSeparator("\n");
+
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    // Fails fast with 503 when too many exports are running; the returned body releases the slot
+    public StreamingResponseBody export(Long userId, JobApplicationFilter filter, ApplicationFileFormat format, boolean gzip) {
+
+        if (!running.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports in progress, try again shortly");
+        }
+
+        return outputStream -> {
+            try {
+                write(userId, filter, format, gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream);
+            } finally {
+                running.release();
+            }
+        };
+    }
+
+    private void write(Long userId, JobApplicationFilter filter, ApplicationFileFormat format, OutputStream target) throws IOException {
+
+        ObjectWriter writer = format == ApplicationFileFormat.CSV ? csvWriter : ndjsonWriter;
+
+        try (SequenceWriter rows = writer.writeValues(new BufferedOutputStream(target, 16 * 1024))) {
+
+            readOnlyTransaction.executeWithoutResult(status ->
+                    exportRepository.streamByUser(userId, filter, row -> {
+                        try {
+                            rows.write(row);
+                        } catch (IOException e) {
+                            // Client went away: abort the query and release the connection
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.job.dto.JobApplicationImportReport;
+import com.david.worktrack.job.dto.JobApplicationRequest;
+import com.david.worktrack.job.entity.ApplicationStatus;
+import com.david.worktrack.job.entity.JobApplication;
+import com.david.worktrack.job.repository.JobApplicationCollectionVersionRepository;
+import com.david.worktrack.job.repository.JobApplicationRepository;
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.service.UserService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of job applications from a CSV (header row with the JobApplicationRequest field names)
+ * or NDJSON (one JSON object per line) request body.
+ * The body is read as a stream and valid rows are inserted `chunk-size` at a time, each chunk in its
+ * own transaction with batched JDBC inserts (and the stats counters bumped once per status/month), so memory stays flat whatever the file size.
+ * Invalid rows are skipped and reported; rows before a failure stay imported (not all-or-nothing).
+ */
+@Service
+public class JobApplicationImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_NOTES_LENGTH = 2000;
+    private static final String INVALID_STATUS = "status must be one of " + Arrays.toString(ApplicationStatus.values());
+
+    private final JobApplicationRepository repository;
+    private final UserService userService;
+    private final JobApplicationStatsService statsService;
+    private final JobApplicationCollectionVersionRepository collectionVersionRepository;
+    private final JobApplicationListCache listCache;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public JobApplicationImportService(JobApplicationRepository repository,
+                                       UserService userService,
+                                       JobApplicationStatsService statsService,
+                                       JobApplicationCollectionVersionRepository collectionVersionRepository,
+                                       JobApplicationListCache listCache,
+                                       PlatformTransactionManager transactionManager,
+                                       ObjectMapper objectMapper,
+                                       @Value("${app.applications.import.chunk-size:1000}") int chunkSize,
+                                       @Value("${app.applications.import.max-rows:100000}") int maxRows) {
+
+        this.repository = repository;
+        this.userService = userService;
+        this.statsService = statsService;
+        this.collectionVersionRepository = collectionVersionRepository;
+        this.listCache = listCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Status is case-insensitive in both formats ("offer" imports as OFFER)
+        ObjectMapper jsonMapper = objectMapper.copy();
+        jsonMapper.setConfig(jsonMapper.getDeserializationConfig().with(MapperFeature.ACCEPT_CASE_INSENSITIVE_ENUMS));
+        this.jsonReader = jsonMapper.readerFor(JobApplicationRequest.class);
+        this.csvReader = new CsvMapper()
+                .enable(CsvParser.Feature.TRIM_SPACES)
+                .enable(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)
+                .readerForMapOf(String.class)
+                .with(CsvSchema.emptySchema().withHeader());
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    public JobApplicationImportReport importApplications(InputStream body, ApplicationFileFormat format, Long userId) throws IOException {
+
+        ImportRun run = new ImportRun(userId);
+
+        switch (format) {
+            case CSV -> readCsv(body, run);
+            case NDJSON -> readNdjson(body, run);
+        }
+
+        run.flush();
+
+        return run.report();
+    }
+
+    private void readCsv(InputStream body, ImportRun run) throws IOException {
+
+        try (MappingIterator<Map<String, String>> rows = csvReader.readValues(body)) {
+
+            while (true) {
+
+                Map<String, String> row;
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    // Broken quoting: the parser cannot find the next row reliably, so stop here
+                    run.reject(run.nextRow(), "Malformed CSV, import stopped: " + e.getOriginalMessage());
+                    return;
+                }
+
+                long rowNumber = run.nextRow();
+                if (!run.withinLimit(rowNumber)) {
+                    return;
+                }
+                try {
+                    run.add(rowNumber, fromCsv(row));
+                } catch (DateTimeParseException e) {
+                    run.reject(rowNumber, "appliedDate must be an ISO date (yyyy-MM-dd)");
+                } catch (IllegalArgumentException e) {
+                    run.reject(rowNumber, INVALID_STATUS);
+                }
+            }
+        }
+    }
+
+    private void readNdjson(InputStream body, ImportRun run) throws IOException {
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                long rowNumber = run.nextRow();
+                if (!run.withinLimit(rowNumber)) {
+                    return;
+                }
+                try {
+                    run.add(rowNumber, jsonReader.readValue(line));
+                } catch (InvalidFormatException e) {
+                    run.reject(rowNumber, e.getTargetType() == ApplicationStatus.class ? INVALID_STATUS : "Invalid JSON: " + e.getOriginalMessage());
+                } catch (JsonProcessingException e) {
+                    run.reject(rowNumber, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private JobApplicationRequest fromCsv(Map<String, String> row) {
+
+        JobApplicationRequest request = new JobApplicationRequest();
+        request.setCompanyName(blankToNull(row.get("companyName")));
+        request.setPosition(blankToNull(row.get("position")));
+        String status = blankToNull(row.get("status"));
+        request.setStatus(status != null ? ApplicationStatus.valueOf(status.toUpperCase(Locale.ROOT)) : null);
+        request.setNotes(blankToNull(row.get("notes")));
+
+        String appliedDate = blankToNull(row.get("appliedDate"));
+        request.setAppliedDate(appliedDate != null ? LocalDate.parse(appliedDate) : null);
+
+        return request;
+    }
+
+    // null when the row can be imported
+    private String validate(JobApplicationRequest request) {
+
+        if (request.getCompanyName() == null || request.getCompanyName().isBlank()) {
+            return "companyName is required";
+        }
+        if (request.getPosition() == null || request.getPosition().isBlank()) {
+            return "position is required";
+        }
+        if (tooLong(request.getCompanyName(), MAX_TEXT_LENGTH) || tooLong(request.getPosition(), MAX_TEXT_LENGTH)) {
+            return "companyName and position must be at most " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (tooLong(request.getNotes(), MAX_NOTES_LENGTH)) {
+            return "notes must be at most " + MAX_NOTES_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    private static boolean tooLong(String value, int max) {
+        return value != null && value.length() > max;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // State of one import request: the pending chunk and the counters for the report
+    private class ImportRun {
+
+        private final Long userId;
+        private final List<JobApplicationRequest> chunk = new ArrayList<>(chunkSize);
+        private final List<JobApplicationImportReport.RowError> errors = new ArrayList<>();
+
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        ImportRun(Long userId) {
+            this.userId = userId;
+        }
+
+        long nextRow() {
+            return ++rows;
+        }
+
+        boolean withinLimit(long rowNumber) {
+
+            if (rowNumber <= maxRows) {
+                return true;
+            }
+            reject(rowNumber, "Row limit of " + maxRows + " reached, the rest of the file was ignored");
+            return false;
+        }
+
+        void add(long rowNumber, JobApplicationRequest request) {
+
+            String error = validate(request);
+            if (error != null) {
+                reject(rowNumber, error);
+                return;
+            }
+
+            chunk.add(request);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String message) {
+
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new JobApplicationImportReport.RowError(rowNumber, message));
+            }
+        }
+
+        // One transaction per chunk: Hibernate batches the INSERTs and the persistence context is dropped at commit
+        void flush() {
+
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                AppUser owner = userService.getUserReference(userId);
+                List<JobApplication> applications = chunk.stream().map(request -> JobApplicationMapper.toEntity(request, owner)).toList();
+                repository.saveAll(applications);
+                collectionVersionRepository.bump(userId);
+                statsService.recordCreated(userId, applications);
+                listCache.evict(userId);
+            });
+
+            imported += chunk.size();
+            chunk.clear();
+        }
+
+        JobApplicationImportReport report() {
+            return new JobApplicationImportReport(imported, rejected, List.copyOf(errors), rejected > errors.size());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.job.dto.JobApplicationFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized JSON pages of GET /api/v1/applications, per user, bounded by total bytes.
+ * An entry is only served for the collection version it was rendered at, so a write made on
+ * another node is never hidden; writes on this node also call evict() to free the memory early.
+ * With `compress`, bodies of at least `compress-min-size` are stored gzipped and sent as-is to clients that accept gzip.
+ */
+@Component
+public class JobApplicationListCache {
+
+    // Rough per-entry overhead (map nodes, key, array headers) so that tiny pages are not free
+    private static final int ENTRY_OVERHEAD = 64;
+    // Someone walking through hundreds of cursors starts a fresh entry instead of growing one without end
+    private static final int MAX_PAGES_PER_USER = 32;
+
+    private final Cache<Long, UserPages> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private final boolean enabled;
+    private final boolean compress;
+    private final int compressMinSize;
+
+    public record Body(byte[] bytes, boolean gzipped) {
+    }
+
+    // Every cached page of one user, all rendered at `version`; replaced, never mutated, so its weight stays right
+    private record UserPages(long version, Map<String, Body> pages) {
+    }
+
+    public JobApplicationListCache(MeterRegistry meterRegistry,
+                                   @Value("${app.applications.list-cache.enabled:true}") boolean enabled,
+                                   @Value("${app.applications.list-cache.max-size:64MB}") DataSize maxSize,
+                                   @Value("${app.applications.list-cache.compress:true}") boolean compress,
+                                   @Value("${app.applications.list-cache.compress-min-size:2KB}") DataSize compressMinSize) {
+
+        this.enabled = enabled;
+        this.compress = compress;
+        this.compressMinSize = (int) compressMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Long userId, UserPages entry) -> entry.pages().entrySet().stream()
+                        .mapToInt(page -> ENTRY_OVERHEAD + page.getKey().length() + page.getValue().bytes().length)
+                        .sum())
+                .build();
+
+        // Counted per page: Caffeine's own stats would count a hit for a user whose entry lacks the requested page
+        this.hits = Counter.builder("applications.list.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("applications.list.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("applications.list.cache.bytes", cache,
+                        c -> c.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L))
+                .register(meterRegistry);
+    }
+
+    // Same query parameters -> same variant; null values are kept apart from missing ones by their position
+    public static String variant(JobApplicationFilter filter, String cursor, Integer size) {
+
+        return filter.getStatus() + "|" + filter.getFrom() + "|" + filter.getTo() + "|" + cursor + "|" + size;
+    }
+
+    // Null on a miss or if the user's applications changed since the page was rendered
+    public Body get(Long userId, long version, String variant) {
+
+        if (!enabled) {
+            return null;
+        }
+
+        UserPages entry = cache.getIfPresent(userId);
+        Body body = entry != null && entry.version() == version ? entry.pages().get(variant) : null;
+
+        (body != null ? hits : misses).increment();
+        return body;
+    }
+
+    // Stores the rendered page; returns what get() would have returned for it
+    public Body put(Long userId, long version, String variant, byte[] json) {
+
+        Body body = compress && json.length >= compressMinSize ? new Body(gzip(json), true) : new Body(json, false);
+
+        if (enabled) {
+            cache.asMap().compute(userId, (id, entry) -> {
+                if (entry != null && entry.version() > version) {
+                    return entry; // rendered from data older than what is cached already
+                }
+                Map<String, Body> pages = new HashMap<>();
+                if (entry != null && entry.version() == version && entry.pages().size() < MAX_PAGES_PER_USER) {
+                    pages.putAll(entry.pages());
+                }
+                pages.put(variant, body);
+                return new UserPages(version, Map.copyOf(pages));
+            });
+        }
+
+        return body;
+    }
+
+    // After every write to the user's applications
+    public void evict(Long userId) {
+
+        if (!enabled) {
+            return;
+        }
+
+        cache.invalidate(userId);
+
+        // A list request running concurrently may store the page it read before our commit -> evict again once
+        // the write is visible (its version check would skip that page anyway, this only frees the memory)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public static byte[] gunzip(byte[] bytes) {
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
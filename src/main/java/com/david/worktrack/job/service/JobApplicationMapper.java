@@ -0,0 +1,49 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.job.dto.JobApplicationRequest;
+import com.david.worktrack.job.dto.JobApplicationResponse;
+import com.david.worktrack.job.entity.ApplicationStatus;
+import com.david.worktrack.job.entity.JobApplication;
+import com.david.worktrack.user.entity.AppUser;
+
+import java.time.LocalDate;
+
+public class JobApplicationMapper {
+
+    public static JobApplicationResponse toResponse(JobApplication app) {
+
+        return new JobApplicationResponse(
+                app.getId(),
+                app.getCompanyName(),
+                app.getPosition(),
+                app.getStatus(),
+                app.getAppliedDate(),
+                app.getNotes(),
+                app.getVersion()
+        );
+    }
+
+    public static JobApplication toEntity(JobApplicationRequest request, AppUser appUser) {
+
+        return JobApplication.builder()
+                .companyName(request.getCompanyName())
+                .position(request.getPosition())
+                .status(statusOrApplied(request.getStatus()))
+                .appliedDate(appliedDateOrToday(request.getAppliedDate()))
+                .notes(request.getNotes())
+                .appUser(appUser)
+                .build();
+    }
+
+    // A new application starts as APPLIED unless the request says otherwise
+    public static ApplicationStatus statusOrApplied(ApplicationStatus status) {
+
+        return status != null ? status : ApplicationStatus.APPLIED;
+    }
+
+    // appliedDate is part of the pagination key, so it can never be null
+    public static LocalDate appliedDateOrToday(LocalDate appliedDate) {
+
+        return appliedDate != null ? appliedDate : LocalDate.now();
+    }
+}
@@ -1,84 +1,345 @@
 package com.david.worktrack.job.service;
 
+import com.david.worktrack.job.dto.*;
+import com.david.worktrack.job.repository.JobApplicationBatchRow;
+import com.david.worktrack.job.repository.JobApplicationChange;
+import com.david.worktrack.job.repository.JobApplicationCollectionVersionRepository;
 import com.david.worktrack.job.repository.JobApplicationRepository;
-import com.david.worktrack.job.dto.JobApplicationRequest;
-import com.david.worktrack.job.dto.JobApplicationResponse;
-import com.david.worktrack.job.dto.UpdateJobStatusRequest;
+import com.david.worktrack.job.repository.JobApplicationSearchRepository;
+import com.david.worktrack.job.entity.ApplicationStatus;
 import com.david.worktrack.job.entity.JobApplication;
-import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.common.exception.BusinessException;
+import com.david.worktrack.common.exception.ConflictException;
+import com.david.worktrack.common.exception.PreconditionFailedException;
 import com.david.worktrack.common.exception.ResourceNotFoundException;
-import jakarta.transaction.Transactional;
+import com.david.worktrack.user.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class JobApplicationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_TERMS = 8;
+    // Beyond this many matches, search results come newest first instead of ranked (ranking is per row)
+    public static final int MAX_RANKED_MATCHES = 500;
+
+    private static final Set<Short> ALL_STATUS_CODES = Arrays.stream(ApplicationStatus.values())
+            .map(ApplicationStatus::code)
+            .collect(Collectors.toUnmodifiableSet());
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     private final JobApplicationRepository repository;
+    private final UserService userService;
+    private final JobApplicationStatsService statsService;
+    private final JobApplicationSearchRepository searchRepository;
+    private final JobApplicationCollectionVersionRepository collectionVersionRepository;
+    private final JobApplicationListCache listCache;
 
-    public void createJobApplication(JobApplicationRequest request, AppUser appUser) {
+    public void createJobApplication(JobApplicationRequest request, Long userId) {
 
-        JobApplication application = JobApplication.builder()
-                .companyName(request.getCompanyName())
-                .position(request.getPosition())
-                .status(request.getStatus())
-                .appliedDate(request.getAppliedDate())
-                .notes(request.getNotes())
-                .appUser(appUser)
-                .build();
+        // User reference is a proxy, no SELECT
+        JobApplication application = JobApplicationMapper.toEntity(request, userService.getUserReference(userId));
 
         repository.save(application);
+        collectionVersionRepository.bump(userId);
+        statsService.recordCreated(userId, application);
+        listCache.evict(userId);
     }
 
-    public List<JobApplicationResponse> getUserJobApplications(AppUser appUser) {
+    // ETag source for the list, search and stats. Callers must read it BEFORE the data: a write landing
+    // in between then only makes the ETag older than the body, which costs one extra download at worst
+    @Transactional(readOnly = true)
+    public long getCollectionVersion(Long userId) {
 
-        return repository.findByAppUser(appUser)
-                .stream()
-                .map(app -> new JobApplicationResponse(
-                        app.getId(),
-                        app.getCompanyName(),
-                        app.getPosition(),
-                        app.getStatus(),
-                        app.getAppliedDate(),
-                        app.getNotes()
-                ))
-                .toList();
+        return collectionVersionRepository.find(userId);
+    }
+
+    // Keyset pagination on (appliedDate, id), newest first
+    @Transactional(readOnly = true)
+    public JobApplicationPageResponse getUserJobApplications(Long userId, JobApplicationFilter filter, String cursor, Integer size) {
+
+        int pageSize = resolvePageSize(size);
+
+        // Fetch one extra row to know if there is a next page
+        PageRequest limit = PageRequest.ofSize(pageSize + 1);
+
+        List<JobApplication> rows;
+
+        if (cursor == null || cursor.isBlank()) {
+            rows = repository.findFirstPage(
+                    userId, filter.getStatus(), filter.getFrom(), filter.getTo(), limit);
+        } else {
+            JobApplicationCursor after = JobApplicationCursor.decode(cursor);
+            rows = repository.findPageAfter(
+                    userId, after.appliedDate(), after.id(),
+                    filter.getStatus(), filter.getFrom(), filter.getTo(), limit);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<JobApplication> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            JobApplication last = page.get(page.size() - 1);
+            nextCursor = new JobApplicationCursor(last.getAppliedDate(), last.getId()).encode();
+        }
+
+        return new JobApplicationPageResponse(
+                page.stream().map(JobApplicationMapper::toResponse).toList(),
+                nextCursor
+        );
+    }
+
+    // Every word must match as a prefix ("goo eng" finds "Google, Engineer"), best rank first; keyset pagination
+    // on (rank, id). A query matching more than MAX_RANKED_MATCHES rows is paged newest first on (appliedDate, id);
+    // the cursor carries the order, so all pages of one search use the same
+    @Transactional(readOnly = true)
+    public JobApplicationPageResponse searchJobApplications(Long userId, String q, String cursor, Integer size) {
+
+        int pageSize = resolvePageSize(size);
+        String tsQuery = toPrefixTsQuery(q);
+        JobApplicationSearchCursor after = cursor == null || cursor.isBlank() ? null : JobApplicationSearchCursor.decode(cursor);
+
+        List<JobApplicationSearchRepository.Hit> hits = null;
+        boolean ranked = after == null || after.ranked();
+
+        if (ranked) {
+            JobApplicationSearchRepository.RankedHits rankedHits =
+                    searchRepository.searchByRank(userId, tsQuery, after, pageSize + 1, MAX_RANKED_MATCHES);
+            // Only decided on the first page: a later one keeps ranking the capped candidate set
+            ranked = after != null || !rankedHits.truncated();
+            hits = rankedHits.hits();
+        }
+        if (!ranked) {
+            hits = searchRepository.searchByDate(userId, tsQuery, after, pageSize + 1);
+        }
+
+        boolean hasNext = hits.size() > pageSize;
+        List<JobApplicationSearchRepository.Hit> page = hasNext ? hits.subList(0, pageSize) : hits;
+
+        String nextCursor = null;
+        if (hasNext) {
+            JobApplicationSearchRepository.Hit last = page.get(page.size() - 1);
+            nextCursor = (ranked
+                    ? JobApplicationSearchCursor.byRank(last.rank(), last.application().getId())
+                    : JobApplicationSearchCursor.byDate(last.application().getAppliedDate(), last.application().getId()))
+                    .encode();
+        }
+
+        return new JobApplicationPageResponse(
+                page.stream().map(JobApplicationSearchRepository.Hit::application).toList(),
+                nextCursor
+        );
+    }
+
+    // `expectedVersions`: versions accepted by If-Match, null when there is no precondition. Returns the new version
+    public long updateJobApplication(Long id, JobApplicationRequest request, Long userId, Long[] expectedVersions) {
+
+        ApplicationStatus status = request.getStatus();
+
+        JobApplicationChange change = repository.updateOwned(
+                id,
+                userId,
+                request.getCompanyName(),
+                request.getPosition(),
+                status == null ? null : status.code(),
+                status == null ? ALL_STATUS_CODES : ApplicationStatus.codesAllowedBefore(status),
+                expectedVersions,
+                JobApplicationMapper.appliedDateOrToday(request.getAppliedDate()),
+                request.getNotes()
+        ).orElseThrow(() -> rejectedUpdate(id, userId, status, expectedVersions));
+
+        recordChange(userId, change);
+
+        return change.getNewVersion();
+    }
+
+    public void deleteJobApplication(Long id, Long userId) {
+
+        JobApplicationChange change = repository.deleteOwned(id, userId).orElseThrow(JobApplicationService::notFound);
+
+        recordChange(userId, change);
+    }
+
+    public long updateJobStatus(Long id, UpdateJobStatusRequest request, Long userId, Long[] expectedVersions) {
+
+        ApplicationStatus status = request.getStatus();
+
+        JobApplicationChange change = repository.updateStatusOwned(
+                id, userId, status.code(), ApplicationStatus.codesAllowedBefore(status), expectedVersions
+        ).orElseThrow(() -> rejectedUpdate(id, userId, status, expectedVersions));
+
+        recordChange(userId, change);
+
+        return change.getNewVersion();
+    }
+
+    // Batch status change: one statement for all items, a result per item instead of an exception
+    public JobApplicationBatchResponse updateJobStatuses(JobApplicationBatchRequest request, Long userId) {
+
+        ApplicationStatus status = request.getStatus();
+        if (status == null) {
+            throw new BusinessException("status is required");
+        }
+
+        return updateMany(request, userId, status, null, null, null, null);
+    }
+
+    // Batch field update: every non-null field of the request is set on all the items
+    public JobApplicationBatchResponse updateJobApplications(JobApplicationBatchRequest request, Long userId) {
+
+        if (request.getStatus() == null && request.getCompanyName() == null && request.getPosition() == null
+                && request.getAppliedDate() == null && request.getNotes() == null) {
+            throw new BusinessException("Nothing to update");
+        }
+
+        return updateMany(request, userId, request.getStatus(), request.getCompanyName(), request.getPosition(),
+                request.getAppliedDate(), request.getNotes());
+    }
+
+    public JobApplicationBatchResponse deleteJobApplications(JobApplicationBatchRequest request, Long userId) {
+
+        Map<Long, Long> items = distinctItems(request);
+
+        List<JobApplicationBatchRow> rows = repository.deleteManyOwned(
+                userId, items.keySet().toArray(Long[]::new), items.values().toArray(Long[]::new));
+
+        return recordBatch(userId, rows);
+    }
+
+    @Transactional(readOnly = true)
+    public JobApplicationStatsResponse getStats(Long userId) {
+
+        return statsService.getStats(userId);
+    }
+
+    private JobApplicationBatchResponse updateMany(JobApplicationBatchRequest request, Long userId, ApplicationStatus status,
+                                                   String companyName, String position, LocalDate appliedDate, String notes) {
+
+        Map<Long, Long> items = distinctItems(request);
+
+        List<JobApplicationBatchRow> rows = repository.updateManyOwned(
+                userId,
+                items.keySet().toArray(Long[]::new),
+                items.values().toArray(Long[]::new),
+                companyName,
+                position,
+                status == null ? null : status.code(),
+                status == null ? ALL_STATUS_CODES : ApplicationStatus.codesAllowedBefore(status),
+                appliedDate,
+                notes
+        );
+
+        return recordBatch(userId, rows);
     }
 
-    public void updateJobApplication(Long id, JobApplicationRequest request, AppUser appUser) {
+    // id -> expected version (null = no precondition); a repeated id keeps its last version
+    private static Map<Long, Long> distinctItems(JobApplicationBatchRequest request) {
+
+        Map<Long, Long> items = new LinkedHashMap<>();
+        request.getItems().forEach(item -> items.put(item.getId(), item.getVersion()));
+        return items;
+    }
+
+    // Stats, caches and the collection version are updated once for the whole batch, and only if a row changed
+    private JobApplicationBatchResponse recordBatch(Long userId, List<JobApplicationBatchRow> rows) {
+
+        List<JobApplicationBatchRow> changed = rows.stream()
+                .filter(row -> isChange(JobApplicationBatchResponse.Outcome.valueOf(row.getOutcome())))
+                .toList();
 
-        JobApplication app = getUserApplicationOrThrow(id, appUser);
+        if (!changed.isEmpty()) {
+            collectionVersionRepository.bump(userId);
+            statsService.recordChanges(userId, changed);
+            listCache.evict(userId);
+        }
 
-        app.setCompanyName(request.getCompanyName());
-        app.setPosition(request.getPosition());
-        app.setStatus(request.getStatus());
-        app.setAppliedDate(request.getAppliedDate());
-        app.setNotes(request.getNotes());
+        return new JobApplicationBatchResponse(rows.stream()
+                .map(row -> new JobApplicationBatchResponse.Result(
+                        row.getId(), JobApplicationBatchResponse.Outcome.valueOf(row.getOutcome()), row.getNewVersion()))
+                .toList());
     }
 
-    public void deleteJobApplication(Long id, AppUser appUser) {
+    private static boolean isChange(JobApplicationBatchResponse.Outcome outcome) {
+
+        return outcome == JobApplicationBatchResponse.Outcome.UPDATED || outcome == JobApplicationBatchResponse.Outcome.DELETED;
+    }
 
-        JobApplication app = getUserApplicationOrThrow(id, appUser);
+    // No row touched -> the application does not exist or belongs to someone else
+    private static ResourceNotFoundException notFound() {
 
-        repository.delete(app);
+        return new ResourceNotFoundException("Job Application not found");
     }
 
-    public void updateJobStatus(Long id, UpdateJobStatusRequest request, AppUser appUser) {
+    // After every native update/delete of job_application
+    private void recordChange(Long userId, JobApplicationChange change) {
+
+        collectionVersionRepository.bump(userId);
+        statsService.recordChange(userId, change);
+        listCache.evict(userId);
+    }
 
-        JobApplication app = getUserApplicationOrThrow(id, appUser);
+    // No row updated: not the user's application, changed since the client read it, or its status cannot move to `target`
+    private RuntimeException rejectedUpdate(Long id, Long userId, ApplicationStatus target, Long[] expectedVersions) {
 
-        // Update status | No save, use @Transactional
-        app.setStatus(request.getStatus());
+        JobApplicationRepository.CurrentState current = repository.findStateOwned(id, userId).orElse(null);
+
+        if (current == null) {
+            return notFound();
+        }
+        if (expectedVersions != null && !Arrays.asList(expectedVersions).contains(current.version())) {
+            return new PreconditionFailedException("Job Application was modified, current version is " + current.version());
+        }
+        return new ConflictException("Cannot change status from " + current.status() + " to " + target);
     }
 
-    public JobApplication getUserApplicationOrThrow(Long id, AppUser appUser) {
+    // Free text -> "word1:* & word2:*". Only letters and digits survive, so user input can never
+    // inject tsquery operators (&, |, !, parentheses) or make to_tsquery fail
+    static String toPrefixTsQuery(String q) {
+
+        if (q == null || q.isBlank()) {
+            throw new BusinessException("Search query is required");
+        }
+
+        List<String> terms = NON_WORD.splitAsStream(q)
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term + ":*")
+                .toList();
+
+        if (terms.isEmpty()) {
+            throw new BusinessException("Search query must contain a letter or digit");
+        }
 
-        return repository.findByIdAndAppUser(id, appUser)
-                .orElseThrow(() -> new ResourceNotFoundException("Job Application not found"));
+        return String.join(" & ", terms);
     }
 
+    private int resolvePageSize(Integer size) {
+
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BusinessException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return size;
+    }
 }
@@ -0,0 +1,76 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.common.lock.PostgresAdvisoryLock;
+import com.david.worktrack.job.repository.JobApplicationStatsRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recomputes job_application_counter from job_application, `batch-size` users per statement,
+ * and overwrites whatever drifted (manual SQL, a bug, a restored backup...). A batch locks its users'
+ * collection version rows, so their writes wait for it rather than being overwritten by it.
+ * Only the node holding the "job-application-stats-repair" advisory lock runs it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.applications.stats.repair.enabled", havingValue = "true", matchIfMissing = true)
+public class JobApplicationStatsRepairJob {
+
+    private static final Logger log = LoggerFactory.getLogger(JobApplicationStatsRepairJob.class);
+
+    private final JobApplicationStatsRepository statsRepository;
+    private final PostgresAdvisoryLock advisoryLock;
+    private final int batchSize;
+
+    private final Counter repaired;
+
+    public JobApplicationStatsRepairJob(JobApplicationStatsRepository statsRepository,
+                                        PostgresAdvisoryLock advisoryLock,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.applications.stats.repair.batch-size:200}") int batchSize) {
+
+        this.statsRepository = statsRepository;
+        this.advisoryLock = advisoryLock;
+        this.batchSize = batchSize;
+
+        this.repaired = Counter.builder("applications.stats.repaired")
+                .description("Stats counters found out of sync and rewritten")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.applications.stats.repair.interval:24h}",
+               initialDelayString = "${app.applications.stats.repair.initial-delay:30m}")
+    public void repair() {
+
+        advisoryLock.runExclusively("job-application-stats-repair", () -> {
+
+            long fixed = 0;
+            long afterId = 0;
+
+            // Each batch is its own short transaction: it holds the batch's users' version rows only while it runs
+            while (true) {
+
+                List<Long> userIds = statsRepository.findUserIdsAfter(afterId, batchSize);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                fixed += statsRepository.repair(userIds.toArray(Long[]::new));
+                afterId = userIds.get(userIds.size() - 1);
+            }
+
+            repaired.increment(fixed);
+
+            if (fixed > 0) {
+                log.warn("Repaired {} drifted application stats counters", fixed);
+            }
+        });
+    }
+}
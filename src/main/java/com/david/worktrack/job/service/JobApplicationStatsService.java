@@ -0,0 +1,111 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.job.dto.JobApplicationStatsResponse;
+import com.david.worktrack.job.entity.ApplicationStatus;
+import com.david.worktrack.job.entity.JobApplication;
+import com.david.worktrack.job.repository.JobApplicationChange;
+import com.david.worktrack.job.repository.JobApplicationStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Maintains the per-user counters in job_application_counter.
+ * Callers run inside the transaction that writes job_application, so a rollback undoes both.
+ */
+@Service
+@RequiredArgsConstructor
+public class JobApplicationStatsService {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final JobApplicationStatsRepository statsRepository;
+
+    public void recordCreated(Long userId, JobApplication application) {
+
+        add(userId, application.getStatus(), application.getAppliedDate(), 1);
+    }
+
+    // One upsert per (status, month) of the batch instead of one per row
+    public void recordCreated(Long userId, Collection<JobApplication> applications) {
+
+        Map<Key, Long> deltas = sortedDeltas();
+        for (JobApplication application : applications) {
+            deltas.merge(Key.of(application.getStatus(), application.getAppliedDate()), 1L, Long::sum);
+        }
+
+        write(userId, deltas);
+    }
+
+    // Update or delete: moves the row from its old (status, month) to the new one, if any
+    public void recordChange(Long userId, JobApplicationChange change) {
+
+        recordChanges(userId, List.of(change));
+    }
+
+    // Batch update or delete: the moves of all rows are netted per (status, month), then written in one JDBC batch
+    public void recordChanges(Long userId, Collection<? extends JobApplicationChange> changes) {
+
+        Map<Key, Long> deltas = sortedDeltas();
+
+        for (JobApplicationChange change : changes) {
+            deltas.merge(Key.of(ApplicationStatus.fromCode(change.getOldStatus()), change.getOldAppliedDate()), -1L, Long::sum);
+            if (change.getNewStatus() != null) {
+                deltas.merge(Key.of(ApplicationStatus.fromCode(change.getNewStatus()), change.getNewAppliedDate()), 1L, Long::sum);
+            }
+        }
+
+        write(userId, deltas);
+    }
+
+    // Reads a handful of counter rows, however many applications the user has
+    public JobApplicationStatsResponse getStats(Long userId) {
+
+        long total = 0;
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byMonth = new TreeMap<>(Comparator.reverseOrder());
+
+        for (JobApplicationStatsRepository.Counter counter : statsRepository.findByUser(userId)) {
+            total += counter.count();
+            byStatus.merge(counter.status().name(), counter.count(), Long::sum);
+            byMonth.merge(MONTH.format(counter.month()), counter.count(), Long::sum);
+        }
+
+        return new JobApplicationStatsResponse(total, byStatus, byMonth);
+    }
+
+    // Every multi-row write goes through here, in (status, month) order: two transactions of the same user
+    // then lock the counter rows in the same order and cannot deadlock
+    private static Map<Key, Long> sortedDeltas() {
+        return new TreeMap<>(Comparator.comparing(Key::status).thenComparing(Key::month));
+    }
+
+    private void write(Long userId, Map<Key, Long> deltas) {
+
+        List<JobApplicationStatsRepository.Counter> nonZero = deltas.entrySet().stream()
+                .filter(delta -> delta.getValue() != 0)
+                .map(delta -> new JobApplicationStatsRepository.Counter(delta.getKey().status(), delta.getKey().month(), delta.getValue()))
+                .toList();
+
+        if (!nonZero.isEmpty()) {
+            statsRepository.add(userId, nonZero);
+        }
+    }
+
+    private void add(Long userId, ApplicationStatus status, LocalDate appliedDate, long delta) {
+
+        Key key = Key.of(status, appliedDate);
+        statsRepository.add(userId, key.status(), key.month(), delta);
+    }
+
+    // Same bucketing as the V5 backfill and the repair job
+    private record Key(ApplicationStatus status, LocalDate month) {
+
+        static Key of(ApplicationStatus status, LocalDate appliedDate) {
+            return new Key(status, appliedDate.withDayOfMonth(1));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.david.worktrack.security.config;
 
 import com.david.worktrack.security.jwt.JwtAuthFilter;
+import com.david.worktrack.security.ratelimit.AuthRateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -20,18 +23,23 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class AppUserSecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtAuthFilter jwtAuthFilter,
+                                                   AuthRateLimitFilter authRateLimitFilter) throws Exception {
         return http
                 // Disable CSRF because we use JWT (stateless API)
                 .csrf(AbstractHttpConfigurer::disable)
 
                 // Public endpoints vs secured endpoints
                 .authorizeHttpRequests(auth -> auth
+                        // Completion of a streamed response (export); the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/api/v1/auth/**",
                                 "/api/v1/forgot-password",
                                 "/api/v1/reset-password"
                         ).permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
 
@@ -40,7 +48,8 @@ public class AppUserSecurityConfig {
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
 
-                // Add JWT filter before Spring Security authentication
+                // Throttle the public auth endpoints first, then JWT filter before Spring Security authentication
+                .addFilterBefore(authRateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
@@ -51,9 +60,10 @@ public class AppUserSecurityConfig {
         return config.getAuthenticationManager();
     }
 
-    // Password encoder for secure password hashing
+    // Password encoder for secure password hashing (cost factor from app.security.bcrypt.strength)
+    // Use PasswordHasher rather than calling it directly on request threads
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BCryptPasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
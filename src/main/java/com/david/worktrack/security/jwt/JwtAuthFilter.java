@@ -1,6 +1,7 @@
 package com.david.worktrack.security.jwt;
 
 import com.david.worktrack.user.service.CustomUserDetailsService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +12,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -21,8 +23,8 @@ import java.io.IOException;
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    // Service responsible for JWT operations (extract username, validate token, etc.)
-    private final JwtService jwtService;
+    // Verifies tokens (through JwtService) and remembers the ones already verified
+    private final VerifiedTokenCache verifiedTokenCache;
 
     // Service used to load user details from database
     private final CustomUserDetailsService customUserDetailsService;
@@ -31,8 +33,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     // Constructor injection of required dependencies
-    public JwtAuthFilter(JwtService jwtService, CustomUserDetailsService customUserDetailsService){
-        this.jwtService = jwtService;
+    public JwtAuthFilter(VerifiedTokenCache verifiedTokenCache, CustomUserDetailsService customUserDetailsService){
+        this.verifiedTokenCache = verifiedTokenCache;
         this.customUserDetailsService = customUserDetailsService;
     }
 
@@ -51,40 +53,57 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         // Extract raw JWT token (Remove "Bearer " (7 characters))
         final String jwt = authHeader.substring(7);
 
-        // Extract username from JWT payload
-        final String username = jwtService.extractUsername(jwt);
+        // Verify signature + expiry once and keep the claims (invalid token -> stay anonymous)
+        final VerifiedClaims claims;
+        try {
+            claims = verifiedTokenCache.verify(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Invalid JWT: {}", e.getMessage());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        final String username = claims.subject();
 
-        log.debug("JWT extracted: {}", jwt);
         log.debug("Username extracted: {}", username);
 
         // Proceed ony if username exists and user is not already authenticated
         if (username != null &&
                 SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            // Validate token before trusting it
-            if (jwtService.isTokenValid(jwt, username)) {
+            // Load user details (roles, authorities, etc.) -> cached principal, no DB hit on repeat requests
+            final UserDetails userDetails;
+            try {
+                userDetails = customUserDetailsService.loadUserByUsername(username);
+            } catch (UsernameNotFoundException e) {
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-                // Load full user details (roles, authorities, etc.)
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+            // A valid token is not enough: disabled or locked accounts stay anonymous
+            if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked()) {
+                log.debug("Account disabled or locked: {}", username);
+                filterChain.doFilter(request, response);
+                return;
+            }
 
-                // Create authentication token for Spring Security context
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+            // Create authentication token for Spring Security context
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
 
-                // Attach request metadata (IP, session info, etc.)
-                authToken.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request)
-                );
+            // Attach request metadata (IP, session info, etc.)
+            authToken.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(request)
+            );
 
-                // Set authenticated user in Security context
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+            // Set authenticated user in Security context
+            SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                log.debug("Authentication set for user: {}", username);
-            }
+            log.debug("Authentication set for user: {}", username);
         }
 
         // Continue filter chain execution
@@ -1,64 +1,101 @@
 package com.david.worktrack.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 
 @Service
 public class JwtService {
 
-    // Secret key used to sign and verify JWT
-    @Value("${jwt.secret}")
-    private String SECRET_KEY;
+    private static final String ROLES_CLAIM = "roles";
 
     // Token expiration time (in milliseconds)
-    @Value("${jwt.expiration}")
-    private long EXPIRATION_TIME;
+    private final long expirationTime;
 
-    // Converts the SECRET KEY into a Key object → ready to sign or verify JWT.
-    private Key getSingKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // Key and parser are immutable and thread-safe → built once at startup, not per request
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtService(@Value("${jwt.secret}") String secretKey,
+                      @Value("${jwt.expiration}") long expirationTime) {
+
+        this.expirationTime = expirationTime;
+        this.signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
     }
 
     // Generate token for a username (email)
     public String generateToken(String username) {
+        return generateToken(username, List.of());
+    }
+
+    // Generate token for a user, embedding its roles
+    public String generateToken(UserDetails userDetails) {
+
+        List<String> roles = userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        return generateToken(userDetails.getUsername(), roles);
+    }
+
+    private String generateToken(String username, Collection<String> roles) {
+
+        long now = System.currentTimeMillis();
+
         return Jwts.builder()
                 .setSubject(username) // Store username
-                .setIssuedAt(new Date(System.currentTimeMillis())) // When token is created
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME)) // expires in 4h
-                .signWith(getSingKey(), SignatureAlgorithm.HS256) // Signs the token -> makes it tamper-proof -> cannot be modified
+                .claim(ROLES_CLAIM, roles)
+                .setIssuedAt(new Date(now)) // When token is created
+                .setExpiration(new Date(now + expirationTime))
+                .signWith(signingKey, SignatureAlgorithm.HS256) // Signs the token -> makes it tamper-proof -> cannot be modified
                 .compact();
     }
 
-    // Extract username (subject) from token
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
-    }
+    /**
+     * Parses the token exactly once: checks the signature and the expiry
+     * and returns the claims we need.
+     * Throws JwtException (or IllegalArgumentException for blank input) when the token is not valid.
+     */
+    public VerifiedClaims verify(String token) {
 
-    // Validate token : correct user and not expired
-    public boolean isTokenValid(String token, String username) {
-        return username.equals(extractUsername(token)) && !isTokenExpired(token);
-    }
+        Claims claims = parser.parseClaimsJws(token).getBody();
 
-    // Check if token is expired
-    private boolean isTokenExpired(String token) {
-        return extractAllClaims(token).getExpiration().before(new Date());
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.getExpiration().toInstant(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                extractRoles(claims)
+        );
     }
 
-    // Extract all claims from token (centralized parsing logic)
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSingKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Extract username (subject) from token
+    public String extractUsername(String token) {
+        return verify(token).subject();
     }
 
+    private List<String> extractRoles(Claims claims) {
+
+        Object roles = claims.get(ROLES_CLAIM);
 
+        if (roles instanceof Collection<?> values) {
+            return values.stream().map(String::valueOf).toList();
+        }
+
+        return List.of();
+    }
 }
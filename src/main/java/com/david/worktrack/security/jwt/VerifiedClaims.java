@@ -0,0 +1,17 @@
+package com.david.worktrack.security.jwt;
+
+import java.time.Instant;
+import java.util.List;
+
+// Result of a single, successful signature + expiry check on an access token
+public record VerifiedClaims(
+        String subject,
+        Instant expiresAt,
+        Instant issuedAt,
+        List<String> roles
+) {
+
+    public VerifiedClaims {
+        roles = roles == null ? List.of() : List.copyOf(roles);
+    }
+}
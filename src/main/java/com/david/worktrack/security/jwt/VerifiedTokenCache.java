@@ -0,0 +1,89 @@
+package com.david.worktrack.security.jwt;
+
+import com.david.worktrack.common.crypto.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded cache of already verified access tokens, keyed by the SHA-256 of the raw token.
+ * Clients resend the same token until it expires, so a hit skips the HMAC check and the
+ * Base64/JSON decoding. Each entry expires at the token's own "exp" and expiry is checked
+ * again on every hit, so an expired token is never served. Invalid tokens are never cached.
+ * Metrics: cache.gets / cache.evictions / cache.size tagged cache=jwt.verified.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final boolean enabled;
+    private final Cache<ByteBuffer, VerifiedClaims> cache;
+
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") long maxSize) {
+
+        this.jwtService = jwtService;
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    // Same contract as JwtService.verify: returns the claims or throws JwtException
+    public VerifiedClaims verify(String token) {
+
+        if (!enabled) {
+            return jwtService.verify(token);
+        }
+
+        ByteBuffer key = ByteBuffer.wrap(TokenDigest.sha256(token));
+
+        VerifiedClaims claims = cache.getIfPresent(key);
+
+        if (claims != null) {
+            if (claims.expiresAt().isAfter(Instant.now())) {
+                return claims;
+            }
+            cache.invalidate(key);
+        }
+
+        // Throws for an invalid or expired token -> nothing is cached
+        claims = jwtService.verify(token);
+        cache.put(key, claims);
+
+        return claims;
+    }
+
+    // Lifetime of an entry = time left until the token's exp
+    private static class ExpireAtTokenExpiry implements Expiry<ByteBuffer, VerifiedClaims> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedClaims claims, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.david.worktrack.security.principal;
+
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.entity.AppUserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// Slim, immutable view of the authenticated user (no password, no JPA state) -> safe to cache
+public record AppUserPrincipal(
+        Long id,
+        String email,
+        AppUserRole role,
+        boolean enabled,
+        boolean locked
+) implements UserDetails {
+
+    public static AppUserPrincipal from(AppUser appUser) {
+
+        return new AppUserPrincipal(
+                appUser.getId(),
+                appUser.getEmail(),
+                appUser.getAppUserRole(),
+                appUser.isEnabled(),
+                appUser.isLocked()
+        );
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !locked;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
@@ -0,0 +1,15 @@
+package com.david.worktrack.security.principal;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects the AppUserPrincipal already resolved by JwtAuthFilter into a controller method,
+ * so handlers don't have to load the user again.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+}
@@ -0,0 +1,60 @@
+package com.david.worktrack.security.principal;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * In-process cache of authenticated principals, keyed by email.
+ * Bounded by size and TTL; every write that changes role, enabled/locked state
+ * or credentials must call evict().
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, AppUserPrincipal> cache;
+
+    public PrincipalCache(MeterRegistry meterRegistry,
+                          @Value("${app.security.principal-cache.ttl:60s}") Duration ttl,
+                          @Value("${app.security.principal-cache.max-size:10000}") long maxSize) {
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "security.principal");
+    }
+
+    public AppUserPrincipal get(String email) {
+        return cache.getIfPresent(email);
+    }
+
+    public void put(AppUserPrincipal principal) {
+        cache.put(principal.email(), principal);
+    }
+
+    public void evict(String email) {
+
+        cache.invalidate(email);
+
+        // A request running concurrently may still read the old row before our transaction
+        // commits and cache it again -> evict a second time once the change is visible
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.david.worktrack.security.ratelimit;
+
+import com.david.worktrack.common.exception.TooManyRequestsException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Per client address limit on /api/v1/auth/** and on the older /api/v1/forgot-password and
+ * /api/v1/reset-password (PasswordResetController), first in the security chain: a rejected request
+ * never reaches the controller. The address is request.getRemoteAddr(); behind a reverse proxy
+ * set server.forward-headers-strategy so that it is the client's and not the proxy's.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String AUTH_PATH = "/api/v1/auth/";
+    private static final Set<String> PASSWORD_RESET_PATHS = Set.of("/api/v1/forgot-password", "/api/v1/reset-password");
+
+    private final AuthRateLimiter rateLimiter;
+
+    // The 429 is rendered by GlobalExceptionHandler, like the ones thrown from AuthService
+    private final HandlerExceptionResolver exceptionResolver;
+
+    public AuthRateLimitFilter(AuthRateLimiter rateLimiter,
+                               @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+        this.rateLimiter = rateLimiter;
+        this.exceptionResolver = exceptionResolver;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return !path.startsWith(AUTH_PATH) && !PASSWORD_RESET_PATHS.contains(path);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+
+        try {
+            rateLimiter.checkClient(request.getRemoteAddr());
+        } catch (TooManyRequestsException e) {
+            exceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
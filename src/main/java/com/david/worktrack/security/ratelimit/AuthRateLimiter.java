@@ -0,0 +1,70 @@
+package com.david.worktrack.security.ratelimit;
+
+import com.david.worktrack.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Throttling of the public auth endpoints, checked before any password hashing, database or SMTP work.
+ * Two independent limits: per client address (AuthRateLimitFilter, every /api/v1/auth request and the
+ * password reset ones) and per account (login and forgot-password attempts for one email, from any address).
+ * Memory is fixed by `slots` whatever the number of clients. Metric: auth.rate.limited (tag scope).
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final int ROWS = 2;
+
+    private final boolean enabled;
+    private final StripedRateLimiter clients;
+    private final StripedRateLimiter accounts;
+    private final Counter clientsLimited;
+    private final Counter accountsLimited;
+
+    public AuthRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.security.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.security.rate-limit.slots:65536}") int slots,
+                           @Value("${app.security.rate-limit.client.permits:30}") int clientPermits,
+                           @Value("${app.security.rate-limit.client.period:1m}") Duration clientPeriod,
+                           @Value("${app.security.rate-limit.client.burst:10}") int clientBurst,
+                           @Value("${app.security.rate-limit.account.permits:10}") int accountPermits,
+                           @Value("${app.security.rate-limit.account.period:15m}") Duration accountPeriod,
+                           @Value("${app.security.rate-limit.account.burst:5}") int accountBurst) {
+
+        this.enabled = enabled;
+        this.clients = new StripedRateLimiter(clientPermits, clientPeriod, clientBurst, slots, ROWS);
+        this.accounts = new StripedRateLimiter(accountPermits, accountPeriod, accountBurst, slots, ROWS);
+
+        this.clientsLimited = Counter.builder("auth.rate.limited").tag("scope", "client").register(meterRegistry);
+        this.accountsLimited = Counter.builder("auth.rate.limited").tag("scope", "account").register(meterRegistry);
+    }
+
+    public void checkClient(String address) {
+
+        if (enabled) {
+            check(clients, address, clientsLimited);
+        }
+    }
+
+    // `action` keeps e.g. forgot-password requests from using up the login attempts of the same account
+    public void checkAccount(String action, String email) {
+
+        if (enabled && email != null) {
+            check(accounts, action + ':' + email.trim().toLowerCase(Locale.ROOT), accountsLimited);
+        }
+    }
+
+    private static void check(StripedRateLimiter limiter, String key, Counter limited) {
+
+        Duration wait = limiter.tryAcquire(key);
+        if (!wait.isZero()) {
+            limited.increment();
+            throw new TooManyRequestsException("Too many requests, try again later", wait);
+        }
+    }
+}
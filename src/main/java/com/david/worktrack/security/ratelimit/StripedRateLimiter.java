@@ -0,0 +1,93 @@
+package com.david.worktrack.security.ratelimit;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets (GCRA) for any number of keys in a fixed amount of memory, without locks.
+ * A key is hashed to one cell in each of `rows` rows, count-min style, and its bucket is the least full
+ * of those cells. A collision can therefore only make a key look busier than it is, never let it through.
+ * A cell holds the time at which its bucket is full again; once that time has passed the cell is as good
+ * as empty, so a key that goes idle is forgotten without any eviction pass.
+ * Cells are updated by CAS: under contention a key may get a few more requests through than its burst.
+ */
+public class StripedRateLimiter {
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final AtomicLongArray cells;
+    private final int rows;
+    private final int slots;
+    private final long[] seeds;
+    private final long interval;
+    private final long tolerance;
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param permits requests allowed per period, on average
+     * @param burst   requests allowed back to back after an idle period
+     * @param slots   cells per row, rounded up to a power of two
+     */
+    public StripedRateLimiter(int permits, Duration period, int burst, int slots, int rows) {
+
+        if (permits < 1 || burst < 1 || slots < 1 || rows < 1) {
+            throw new IllegalArgumentException("permits, burst, slots and rows must be positive");
+        }
+
+        this.slots = slots == 1 ? 1 : Integer.highestOneBit(slots - 1) << 1;
+        this.rows = rows;
+        this.cells = new AtomicLongArray(this.slots * rows);
+        this.interval = period.toNanos() / permits;
+        this.tolerance = interval * (burst - 1);
+
+        // Random per instance: which keys share a cell cannot be worked out from outside
+        SecureRandom random = new SecureRandom();
+        this.seeds = new long[rows];
+        for (int row = 0; row < rows; row++) {
+            seeds[row] = random.nextLong();
+        }
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return Duration.ZERO if the request is allowed, otherwise how long until it would be
+     */
+    public Duration tryAcquire(String key) {
+
+        long now = System.nanoTime() - origin;
+
+        long theoreticalArrival = Long.MAX_VALUE;
+        for (int row = 0; row < rows; row++) {
+            theoreticalArrival = Math.min(theoreticalArrival, cells.get(index(key, row)));
+        }
+        theoreticalArrival = Math.max(theoreticalArrival, now);
+
+        long wait = theoreticalArrival - tolerance - now;
+        if (wait > 0) {
+            return Duration.ofNanos(wait); // rejected requests take no token
+        }
+
+        // Conservative update: a cell shared with a busier key already holds a later time and keeps it
+        long next = theoreticalArrival + interval;
+        for (int row = 0; row < rows; row++) {
+            cells.accumulateAndGet(index(key, row), next, Math::max);
+        }
+        return Duration.ZERO;
+    }
+
+    // Seeded FNV-1a, then a murmur3 finalizer so that the low bits used for the slot are well mixed
+    private int index(String key, int row) {
+
+        long hash = seeds[row];
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+
+        return row * slots + (int) (hash & (slots - 1));
+    }
+}
@@ -0,0 +1,128 @@
+package com.david.worktrack.token;
+
+import com.david.worktrack.common.lock.PostgresAdvisoryLock;
+import com.david.worktrack.token.confirmation.ConfirmationTokenRepository;
+import com.david.worktrack.token.passwordReset.PasswordResetTokenRepository;
+import com.david.worktrack.token.refreshToken.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Deletes expired and used refresh, confirmation and password reset tokens.
+ * Works in chunks of `chunk-size` rows, each its own short transaction, with a pause in
+ * between so it never holds many row locks or competes with requests for long.
+ * Only the node holding the "token-reaper" advisory lock runs it.
+ */
+@Component
+@ConditionalOnProperty(name = "app.tokens.reaper.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenReaper.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final ConfirmationTokenRepository confirmationTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final PostgresAdvisoryLock advisoryLock;
+    private final MeterRegistry meterRegistry;
+
+    private final int chunkSize;
+    private final Duration pause;
+
+    private final Timer duration;
+    private final Counter skipped;
+
+    public TokenReaper(RefreshTokenRepository refreshTokenRepository,
+                       ConfirmationTokenRepository confirmationTokenRepository,
+                       PasswordResetTokenRepository passwordResetTokenRepository,
+                       PostgresAdvisoryLock advisoryLock,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.tokens.reaper.chunk-size:1000}") int chunkSize,
+                       @Value("${app.tokens.reaper.pause:200ms}") Duration pause) {
+
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.confirmationTokenRepository = confirmationTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.advisoryLock = advisoryLock;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+
+        this.duration = Timer.builder("tokens.reaper.duration")
+                .description("Time spent purging expired and used tokens")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("tokens.reaper.skipped")
+                .description("Runs skipped because another node held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tokens.reaper.interval:1h}",
+               initialDelayString = "${app.tokens.reaper.initial-delay:5m}")
+    public void reap() {
+
+        boolean ran = advisoryLock.runExclusively("token-reaper", () -> duration.record(() -> {
+
+            LocalDateTime now = LocalDateTime.now();
+
+            long refresh = purge("refresh_token",
+                    limit -> refreshTokenRepository.deleteExpired(now, limit),
+                    refreshTokenRepository::deleteUsed);
+            long confirmation = purge("confirmation_token",
+                    limit -> confirmationTokenRepository.deleteExpired(now, limit),
+                    confirmationTokenRepository::deleteConfirmed);
+            long passwordReset = purge("password_reset_token",
+                    limit -> passwordResetTokenRepository.deleteExpired(now, limit),
+                    passwordResetTokenRepository::deleteUsed);
+
+            if (refresh + confirmation + passwordReset > 0) {
+                log.info("Purged tokens: {} refresh, {} confirmation, {} password reset", refresh, confirmation, passwordReset);
+            }
+        }));
+
+        if (!ran) {
+            skipped.increment();
+        }
+    }
+
+    // For each kind of purgeable row (expired, used): deletes chunk after chunk until one comes back short
+    private long purge(String table, IntUnaryOperator... deleteChunks) {
+
+        Counter reaped = Counter.builder("tokens.reaped")
+                .description("Expired or used tokens deleted")
+                .tag("table", table)
+                .register(meterRegistry);
+
+        long total = 0;
+
+        for (IntUnaryOperator deleteChunk : deleteChunks) {
+            while (true) {
+
+                int deleted = deleteChunk.applyAsInt(chunkSize);
+                total += deleted;
+                reaped.increment(deleted);
+
+                if (deleted < chunkSize) {
+                    break;
+                }
+
+                try {
+                    Thread.sleep(pause);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return total;
+                }
+            }
+        }
+        return total;
+    }
+}
@@ -12,6 +12,7 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @Builder
 @Entity
+@Table(indexes = @Index(name = "idx_confirmation_token_expires_at", columnList = "expires_at"))
 public class ConfirmationToken {
 
     @Id
@@ -19,8 +20,9 @@ public class ConfirmationToken {
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "confirmation_token_sequence")
     private Long id;
 
-    @Column(nullable = false)
-    private String token;
+    // SHA-256 of the token handed to the client; the raw value is never stored
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private byte[] tokenHash;
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -1,9 +1,12 @@
 package com.david.worktrack.token.confirmation;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -14,16 +17,49 @@ import java.util.Optional;
 @Repository
 public interface ConfirmationTokenRepository extends JpaRepository<ConfirmationToken, Long> {
 
-    Optional<ConfirmationToken> findByToken(String token);
+    Optional<ConfirmationToken> findByTokenHash(byte[] tokenHash);
 
-    // Automatically marks a token as confirmed ONLY if it has not been confirmed yet
+    // Automatically marks a token as confirmed ONLY if it has not been confirmed yet.
+    // JPQL bulk update: Hibernate invalidates confirmation_token itself; ConfirmationToken is not cached
     @Modifying
     @Transactional
     @Query("""
         UPDATE ConfirmationToken c
         SET c.confirmedAt = :now
-        WHERE c.token = :token AND c.confirmedAt IS NULL
+        WHERE c.tokenHash = :tokenHash AND c.confirmedAt IS NULL
     """)
-    int confirmToken(@Param("token") String token,
+    int confirmToken(@Param("tokenHash") byte[] tokenHash,
                      @Param("now") LocalDateTime now);
+
+    // One chunk for TokenReaper; SKIP LOCKED leaves rows a request is working on for the next run.
+    // A native statement with no declared table makes Hibernate empty every second-level cache region
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "confirmation_token"))
+    @Query(value = """
+        DELETE FROM confirmation_token
+        WHERE id IN (
+            SELECT id FROM confirmation_token
+            WHERE expires_at < :now
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+    """, nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now,
+                      @Param("limit") int limit);
+
+    // Separate from deleteExpired so that each uses its index (here the partial idx_confirmation_token_confirmed)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "confirmation_token"))
+    @Query(value = """
+        DELETE FROM confirmation_token
+        WHERE id IN (
+            SELECT id FROM confirmation_token
+            WHERE confirmed_at IS NOT NULL
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+    """, nativeQuery = true)
+    int deleteConfirmed(@Param("limit") int limit);
 }
@@ -1,5 +1,6 @@
 package com.david.worktrack.token.confirmation;
 
+import com.david.worktrack.common.crypto.TokenDigest;
 import com.david.worktrack.user.entity.AppUser;
 import com.david.worktrack.common.exception.BusinessException;
 import com.david.worktrack.common.exception.InvalidTokenException;
@@ -17,7 +18,7 @@ public class ConfirmationTokenService {
 
     public ConfirmationToken getTokenOrThrow(String token) {
 
-        return confirmationTokenRepository.findByToken(token)
+        return confirmationTokenRepository.findByTokenHash(TokenDigest.sha256(token))
                 .orElseThrow(() -> new InvalidTokenException("Invalid token"));
     }
 
@@ -26,7 +27,7 @@ public class ConfirmationTokenService {
 
         ConfirmationToken confirmationToken = validateToken(token);
 
-        int updated = confirmationTokenRepository.confirmToken(token, LocalDateTime.now());
+        int updated = confirmationTokenRepository.confirmToken(confirmationToken.getTokenHash(), LocalDateTime.now());
 
         if (updated == 0) {
             throw new BusinessException("Email already confirmed");
@@ -47,17 +48,21 @@ public class ConfirmationTokenService {
         return confirmationToken;
     }
 
-    public ConfirmationToken createAndSaveToken(AppUser appUser) {
+    // Returns the raw token for the email link; only its hash is saved
+    public String createAndSaveToken(AppUser appUser) {
 
         LocalDateTime now = LocalDateTime.now();
+        String token = UUID.randomUUID().toString();
 
         ConfirmationToken confirmationToken = ConfirmationToken.builder()
-                .token(UUID.randomUUID().toString())
+                .tokenHash(TokenDigest.sha256(token))
                 .createdAt(now)
                 .expiresAt(now.plusMinutes(15))
                 .appUser(appUser)
                 .build();
 
-        return confirmationTokenRepository.save(confirmationToken);
+        confirmationTokenRepository.save(confirmationToken);
+
+        return token;
     }
 }
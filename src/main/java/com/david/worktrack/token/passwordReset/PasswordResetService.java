@@ -1,6 +1,8 @@
 package com.david.worktrack.token.passwordReset;
+import com.david.worktrack.common.crypto.TokenDigest;
 import com.david.worktrack.user.entity.AppUser;
 import com.david.worktrack.common.exception.InvalidTokenException;
+import com.david.worktrack.security.ratelimit.AuthRateLimiter;
 import com.david.worktrack.user.service.UserService;
 import com.david.worktrack.common.email.EmailService;
 import jakarta.transaction.Transactional;
@@ -19,12 +21,16 @@ public class PasswordResetService {
     private final PasswordResetTokenRepository resetTokenRepository;
     private final EmailService emailService;
     private final UserService userService;
+    private final AuthRateLimiter authRateLimiter;
 
     @Value("${app.backend.url}")
     private String backendUrl;
 
     public void createPasswordResetToken(String email) {
 
+        // Same per-account limit as /api/v1/auth/forgot-password, checked before the lookup
+        authRateLimiter.checkAccount("forgot-password", email);
+
         AppUser appUser = userService.getUserByEmailOrThrow(email);
 
         // Generate token
@@ -32,7 +38,7 @@ public class PasswordResetService {
 
         // Save token
         PasswordResetToken resetToken = new PasswordResetToken();
-        resetToken.setToken(token);
+        resetToken.setTokenHash(TokenDigest.sha256(token));
         resetToken.setAppUser(appUser);
         resetToken.setExpiryDate(LocalDateTime.now().plusHours(1));
         resetToken.setUsed(false);
@@ -64,7 +70,7 @@ public class PasswordResetService {
 
     public PasswordResetToken getResetTokenOrThrow(String token) {
 
-        return resetTokenRepository.findByToken(token)
+        return resetTokenRepository.findByTokenHash(TokenDigest.sha256(token))
                 .orElseThrow(() -> new InvalidTokenException("Invalid token"));
     }
 }
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_password_reset_token_expiry_date", columnList = "expiry_date"))
 @Data
 @NoArgsConstructor
 public class PasswordResetToken {
@@ -16,7 +17,9 @@ public class PasswordResetToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String token;
+    // SHA-256 of the token handed to the client; the raw value is never stored
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private byte[] tokenHash;
 
     @ManyToOne
     @JoinColumn(nullable = false, name = "user_id")
@@ -1,12 +1,51 @@
 package com.david.worktrack.token.passwordReset;
 
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 
-    Optional<PasswordResetToken> findByToken(String token);
+    Optional<PasswordResetToken> findByTokenHash(byte[] tokenHash);
+
+    // Chunks for TokenReaper; SKIP LOCKED leaves rows a request is working on for the next run.
+    // Expired rows come from idx_password_reset_token_expiry_date, used ones from the partial idx_password_reset_token_used
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_token"))
+    @Query(value = """
+        DELETE FROM password_reset_token
+        WHERE id IN (
+            SELECT id FROM password_reset_token
+            WHERE expiry_date < :now
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+    """, nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now,
+                      @Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "password_reset_token"))
+    @Query(value = """
+        DELETE FROM password_reset_token
+        WHERE id IN (
+            SELECT id FROM password_reset_token
+            WHERE used
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+    """, nativeQuery = true)
+    int deleteUsed(@Param("limit") int limit);
 }
@@ -7,17 +7,20 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_refresh_token_expiry_date", columnList = "expiry_date"))
 @Data
 public class RefreshToken {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.IDENTITY) // rotate() inserts rows from SQL
     private Long id;
 
     @ManyToOne
     private AppUser appUser;
 
-    private String token;
+    // SHA-256 of the token handed to the client; the raw value is never stored
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private byte[] tokenHash;
 
     private LocalDateTime expiryDate;
 
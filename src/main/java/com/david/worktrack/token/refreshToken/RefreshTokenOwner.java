@@ -0,0 +1,22 @@
+package com.david.worktrack.token.refreshToken;
+
+import com.david.worktrack.security.principal.AppUserPrincipal;
+import com.david.worktrack.user.entity.AppUserRole;
+
+// Owner of a rotated refresh token, as returned by RefreshTokenRepository.rotate
+public interface RefreshTokenOwner {
+
+    Long getId();
+
+    String getEmail();
+
+    String getRole();
+
+    Boolean getEnabled();
+
+    Boolean getLocked();
+
+    default AppUserPrincipal toPrincipal() {
+        return new AppUserPrincipal(getId(), getEmail(), AppUserRole.valueOf(getRole()), getEnabled(), getLocked());
+    }
+}
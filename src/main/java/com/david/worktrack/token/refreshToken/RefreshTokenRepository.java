@@ -1,10 +1,78 @@
 package com.david.worktrack.token.refreshToken;
 
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
 
-    Optional<RefreshToken> findByToken(String token);
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    // Rotation in one round trip: revokes the presented token only if it is still valid, inserts its
+    // replacement and returns the owner. No row -> the token is unknown, already used or expired
+    @Query(value = """
+        WITH revoked AS (
+            UPDATE refresh_token
+            SET used = true
+            WHERE token_hash = :tokenHash AND NOT used AND expiry_date > :now
+            RETURNING app_user_id
+        ), issued AS (
+            INSERT INTO refresh_token (app_user_id, token_hash, expiry_date, used)
+            SELECT app_user_id, :newTokenHash, :newExpiryDate, false FROM revoked
+            RETURNING app_user_id
+        )
+        SELECT u.id AS id, u.email AS email, u.app_user_role AS role, u.enabled AS enabled, u.locked AS locked
+        FROM issued
+        JOIN users u ON u.id = issued.app_user_id
+    """, nativeQuery = true)
+    Optional<RefreshTokenOwner> rotate(@Param("tokenHash") byte[] tokenHash,
+                                       @Param("newTokenHash") byte[] newTokenHash,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("newExpiryDate") LocalDateTime newExpiryDate);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE RefreshToken r SET r.used = true WHERE r.tokenHash = :tokenHash")
+    int revoke(@Param("tokenHash") byte[] tokenHash);
+
+    // Chunks for TokenReaper; SKIP LOCKED leaves rows a request is working on for the next run.
+    // The hint names the only table touched (see ConfirmationTokenRepository).
+    // Expired and used rows are separate statements: an OR of the two could use neither index
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_token"))
+    @Query(value = """
+        DELETE FROM refresh_token
+        WHERE id IN (
+            SELECT id FROM refresh_token
+            WHERE expiry_date < :now
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+    """, nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now,
+                      @Param("limit") int limit);
+
+    // Through the partial index idx_refresh_token_used
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "refresh_token"))
+    @Query(value = """
+        DELETE FROM refresh_token
+        WHERE id IN (
+            SELECT id FROM refresh_token
+            WHERE used
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+        )
+    """, nativeQuery = true)
+    int deleteUsed(@Param("limit") int limit);
 }
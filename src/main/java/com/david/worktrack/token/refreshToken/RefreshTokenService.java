@@ -1,11 +1,13 @@
 package com.david.worktrack.token.refreshToken;
 
+import com.david.worktrack.common.crypto.TokenDigest;
 import com.david.worktrack.user.entity.AppUser;
 import com.david.worktrack.common.exception.InvalidTokenException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -13,56 +15,62 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class RefreshTokenService {
 
+    // Keep log in for 7 days
+    private static final Duration REFRESH_TOKEN_TTL = Duration.ofDays(7);
+
     private final RefreshTokenRepository refreshTokenRepository;
 
-    // New Refresh Token to keep log in for 7 days
+    // New Refresh Token
     public String createRefreshToken(AppUser appUser) {
 
         String token = UUID.randomUUID().toString();
         RefreshToken refreshToken = new RefreshToken();
         refreshToken.setAppUser(appUser);
-        refreshToken.setToken(token);
-        refreshToken.setExpiryDate(LocalDateTime.now().plusDays(7));
+        refreshToken.setTokenHash(TokenDigest.sha256(token));
+        refreshToken.setExpiryDate(LocalDateTime.now().plus(REFRESH_TOKEN_TTL));
         refreshToken.setUsed(false);
         refreshTokenRepository.save(refreshToken);
         return token;
     }
 
-    // Check Refresh Token
-    public AppUser validateRefreshToken(String refreshTokenValue) {
-
-        RefreshToken refreshToken = getRefreshTokenOrThrow(refreshTokenValue);
-
-        if (refreshToken.isUsed()) {
-            throw new InvalidTokenException("Refresh token already used");
-        }
-
-        if (refreshToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-            throw new InvalidTokenException("Expired refresh token");
-        }
-
-        revokeToken(refreshToken);
-
-        return refreshToken.getAppUser();
+    // Swap a valid refresh token for a new one in a single statement,
+    // so two concurrent refreshes with the same token cannot both succeed
+    @Transactional
+    public RotatedRefreshToken rotateRefreshToken(String refreshTokenValue) {
+
+        LocalDateTime now = LocalDateTime.now();
+        String newToken = UUID.randomUUID().toString();
+
+        return refreshTokenRepository.rotate(
+                        TokenDigest.sha256(refreshTokenValue),
+                        TokenDigest.sha256(newToken),
+                        now,
+                        now.plus(REFRESH_TOKEN_TTL))
+                .map(owner -> new RotatedRefreshToken(owner.toPrincipal(), newToken))
+                .orElseThrow(() -> rejection(refreshTokenValue));
     }
 
     // Log Out Invalidate Refresh Token
-    @Transactional
     public void invalidateRefreshToken(String refreshTokenValue) {
-        RefreshToken refreshToken = getRefreshTokenOrThrow(refreshTokenValue);
 
-        refreshToken.setUsed(true);
-        refreshTokenRepository.save(refreshToken);
+        if (refreshTokenRepository.revoke(TokenDigest.sha256(refreshTokenValue)) == 0) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
     }
 
     public RefreshToken getRefreshTokenOrThrow(String refreshTokenValue) {
-        return refreshTokenRepository.findByToken(refreshTokenValue)
+        return refreshTokenRepository.findByTokenHash(TokenDigest.sha256(refreshTokenValue))
                 .orElseThrow(() -> new InvalidTokenException("Invalid refresh token"));
     }
 
-    public void revokeToken(RefreshToken token) {
+    // Only on the failure path: look the token up again to say why it was rejected
+    private InvalidTokenException rejection(String refreshTokenValue) {
 
-        token.setUsed(true);
-        refreshTokenRepository.save(token);
+        RefreshToken refreshToken = getRefreshTokenOrThrow(refreshTokenValue);
+
+        if (refreshToken.isUsed()) {
+            return new InvalidTokenException("Refresh token already used");
+        }
+        return new InvalidTokenException("Expired refresh token");
     }
 }
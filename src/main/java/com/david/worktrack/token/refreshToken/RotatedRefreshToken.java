@@ -0,0 +1,7 @@
+package com.david.worktrack.token.refreshToken;
+
+import com.david.worktrack.security.principal.AppUserPrincipal;
+
+// Result of a rotation: who the token belonged to and the raw replacement token
+public record RotatedRefreshToken(AppUserPrincipal owner, String refreshToken) {
+}
@@ -1,5 +1,7 @@
 package com.david.worktrack.user.controller;
 
+import com.david.worktrack.security.principal.AppUserPrincipal;
+import com.david.worktrack.security.principal.CurrentUser;
 import com.david.worktrack.user.entity.AppUser;
 import com.david.worktrack.user.dto.ChangePasswordRequest;
 import com.david.worktrack.user.dto.UpdateProfileRequest;
@@ -8,7 +10,6 @@ import com.david.worktrack.user.service.UserMapper;
 import com.david.worktrack.user.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,29 +20,25 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getCurrentUser(Authentication authentication) {
+    public ResponseEntity<UserResponse> getCurrentUser(@CurrentUser AppUserPrincipal user) {
 
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
+        AppUser appUser = userService.getUserByIdOrThrow(user.id());
 
         return ResponseEntity.ok(UserMapper.toResponse(appUser));
     }
 
     @PutMapping("/me")
-    public ResponseEntity<Void> updateProfileName(@RequestBody UpdateProfileRequest request, Authentication authentication){
+    public ResponseEntity<Void> updateProfileName(@RequestBody UpdateProfileRequest request, @CurrentUser AppUserPrincipal user){
 
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
-
-        userService.updateProfileName(request, appUser);
+        userService.updateProfileName(request, user.id());
 
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/me/password")
-    public ResponseEntity<Void> changePassword(@RequestBody ChangePasswordRequest request, Authentication authentication){
-
-        AppUser appUser = userService.getUserByEmailOrThrow(authentication.getName());
+    public ResponseEntity<Void> changePassword(@RequestBody ChangePasswordRequest request, @CurrentUser AppUserPrincipal user){
 
-        userService.changePassword(request, appUser);
+        userService.changePassword(request, user.id());
 
         return ResponseEntity.noContent().build();
     }
@@ -0,0 +1,15 @@
+package com.david.worktrack.user.dto;
+
+import com.david.worktrack.user.entity.AppUserRole;
+
+// Admin listing row, selected column by column (JPQL constructor expression): never loads the entity or the password hash
+public record UserSummaryResponse(
+        Long id,
+        String email,
+        String displayName,
+        AppUserRole role,
+        boolean enabled,
+        boolean verified,
+        boolean locked
+) {
+}
@@ -1,11 +1,17 @@
 package com.david.worktrack.user.entity;
 
+import com.david.worktrack.common.cache.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -15,6 +21,11 @@ import java.util.Collections;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Second-level cache: by id, and email -> id for the natural-id lookup (registration, profile, forgot password).
+// Node-local: the JWT principal and the password, enabled, locked and lockout checks read the row from the database
+// (AppUserRepository.findCurrent*)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.APP_USER)
+@NaturalIdCache(region = SecondLevelCacheConfig.APP_USER_BY_EMAIL)
 public class AppUser implements UserDetails {
 
     @Id
@@ -22,6 +33,7 @@ public class AppUser implements UserDetails {
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_sequence")
     private Long id;
 
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String email;
 
@@ -36,6 +48,11 @@ public class AppUser implements UserDetails {
 
     private boolean locked = false;
 
+    // Temporary lockout after repeated wrong passwords, see LoginLockoutService
+    private int failedLoginAttempts;
+
+    private LocalDateTime lockedUntil;
+
     private boolean enabled = false;
 
     @Override
@@ -0,0 +1,11 @@
+package com.david.worktrack.user.repository;
+
+import com.david.worktrack.user.entity.AppUser;
+
+import java.util.Optional;
+
+// Replaces the derived findByEmail query: email is the natural id, so repeat lookups hit the second-level cache
+public interface AppUserNaturalIdRepository {
+
+    Optional<AppUser> findByEmail(String email);
+}
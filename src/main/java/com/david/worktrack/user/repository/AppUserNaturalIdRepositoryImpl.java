@@ -0,0 +1,27 @@
+package com.david.worktrack.user.repository;
+
+import com.david.worktrack.user.entity.AppUser;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class AppUserNaturalIdRepositoryImpl implements AppUserNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    // email -> id from the natural-id region, then the row from the entity region; SQL only on a miss.
+    // SUPPORTS: keeps the Session open for the call without starting a transaction (or marking one read-only)
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<AppUser> findByEmail(String email) {
+
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(AppUser.class)
+                .loadOptional(email);
+    }
+}
@@ -1,14 +1,81 @@
 package com.david.worktrack.user.repository;
 
 import com.david.worktrack.user.entity.AppUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
-public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+public interface AppUserRepository extends JpaRepository<AppUser, Long>, AppUserNaturalIdRepository, AppUserSummaryRepository {
 
-    Optional<AppUser> findByEmail(String email);
+    // The row as it is in the database, never the second-level cache: that cache is per instance, so after a
+    // password reset or confirmation on another node its copy is stale. Used wherever the password, the
+    // enabled/locked flags or the lockout counters are checked or written, including the principal of JWT requests.
+    // REFRESH puts the fresh row back into the cache: a plain put never replaces an existing (stale) entry.
+    // Read-write on purpose: the read-only default would send it to a replica, which may lag just as much
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
+    @Query("SELECT u FROM AppUser u WHERE u.email = :email")
+    Optional<AppUser> findCurrentByEmail(@Param("email") String email);
+
+    @Transactional
+    @QueryHints({
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "REFRESH")
+    })
+    @Query("SELECT u FROM AppUser u WHERE u.id = :id")
+    Optional<AppUser> findCurrentById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE AppUser u SET u.displayName = :displayName WHERE u.id = :id")
+    int updateDisplayName(@Param("id") Long id, @Param("displayName") String displayName);
+
+    // Only the hash: the rest of the row is not overwritten from a possibly stale copy. A query rather than
+    // @Modifying so that Hibernate does not empty the whole AppUser cache region; the caller evicts the one entry.
+    // Own transaction when called from outside one (change password hashes with none open)
+    @Transactional
+    @Query(value = """
+        UPDATE users SET password = :password
+        WHERE id = :id
+        RETURNING id
+    """, nativeQuery = true)
+    Optional<Long> updatePasswordHash(@Param("id") Long id, @Param("password") String password);
+
+    // Failed-login bookkeeping, one statement each: concurrent wrong guesses are counted one after the other
+    // by the row lock, which is held only for the statement. Queries rather than @Modifying so that Hibernate
+    // does not empty the whole AppUser cache region; the caller evicts the one entry instead.
+    // Returns the new count, 0 when this failure started a lockout until `lockedUntil`
+    @Query(value = """
+        UPDATE users
+        SET failed_login_attempts = CASE WHEN failed_login_attempts + 1 >= :maxAttempts THEN 0
+                                         ELSE failed_login_attempts + 1 END,
+            locked_until = CASE WHEN failed_login_attempts + 1 >= :maxAttempts THEN :lockedUntil
+                                ELSE locked_until END
+        WHERE id = :id
+        RETURNING failed_login_attempts
+    """, nativeQuery = true)
+    Optional<Integer> recordFailedLogin(@Param("id") Long id,
+                                        @Param("maxAttempts") int maxAttempts,
+                                        @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Query(value = """
+        UPDATE users
+        SET failed_login_attempts = 0, locked_until = NULL
+        WHERE id = :id
+        RETURNING id
+    """, nativeQuery = true)
+    Optional<Long> clearFailedLogins(@Param("id") Long id);
 
 }
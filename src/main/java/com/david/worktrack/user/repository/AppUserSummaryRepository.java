@@ -0,0 +1,16 @@
+package com.david.worktrack.user.repository;
+
+import com.david.worktrack.user.dto.UserSummaryResponse;
+import com.david.worktrack.user.entity.AppUserRole;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+// Admin listing with keyset pagination; the query depends on the sort column and direction, so it is built per call
+public interface AppUserSummaryRepository {
+
+    // `sort` is "id" or "email". Rows after (afterEmail, afterId) in that order, or from the start when afterId is null
+    List<UserSummaryResponse> findSummaries(AppUserRole role, Boolean enabled, Boolean verified,
+                                            String sort, Sort.Direction direction,
+                                            String afterEmail, Long afterId, int limit);
+}
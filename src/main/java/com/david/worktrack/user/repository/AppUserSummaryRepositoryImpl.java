@@ -0,0 +1,76 @@
+package com.david.worktrack.user.repository;
+
+import com.david.worktrack.user.dto.UserSummaryResponse;
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.entity.AppUserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+class AppUserSummaryRepositoryImpl implements AppUserSummaryRepository {
+
+    private final EntityManager entityManager;
+
+    // Only the response columns. Filters are added only when set and the keyset condition is a range on the
+    // sort column, so each page is an index range scan on the primary key, uk_users_email or idx_users_role_id
+    @Override
+    public List<UserSummaryResponse> findSummaries(AppUserRole role, Boolean enabled, Boolean verified,
+                                                   String sort, Sort.Direction direction,
+                                                   String afterEmail, Long afterId, int limit) {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummaryResponse> query = cb.createQuery(UserSummaryResponse.class);
+        Root<AppUser> user = query.from(AppUser.class);
+
+        Expression<Long> id = user.get("id");
+        Expression<String> email = user.get("email");
+
+        List<Predicate> where = new ArrayList<>();
+        if (role != null) {
+            where.add(cb.equal(user.get("appUserRole"), role));
+        }
+        if (enabled != null) {
+            where.add(cb.equal(user.get("enabled"), enabled));
+        }
+        if (verified != null) {
+            where.add(cb.equal(user.get("verified"), verified));
+        }
+
+        boolean ascending = direction.isAscending();
+        if (afterId != null) {
+            if (sort.equals("email")) {
+                // (email, id) after the cursor: the first condition is the index range, the second skips the cursor row
+                where.add(ascending ? cb.greaterThanOrEqualTo(email, afterEmail) : cb.lessThanOrEqualTo(email, afterEmail));
+                where.add(cb.or(
+                        ascending ? cb.greaterThan(email, afterEmail) : cb.lessThan(email, afterEmail),
+                        ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId)));
+            } else {
+                where.add(ascending ? cb.greaterThan(id, afterId) : cb.lessThan(id, afterId));
+            }
+        }
+
+        query.select(cb.construct(UserSummaryResponse.class,
+                        id, email, user.get("displayName"), user.get("appUserRole"),
+                        user.get("enabled"), user.get("verified"), user.get("locked")))
+                .where(where.toArray(Predicate[]::new));
+
+        if (sort.equals("email")) {
+            query.orderBy(ascending ? cb.asc(email) : cb.desc(email), ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,7 +1,8 @@
 package com.david.worktrack.user.service;
 
+import com.david.worktrack.security.principal.AppUserPrincipal;
+import com.david.worktrack.security.principal.PrincipalCache;
 import com.david.worktrack.user.repository.AppUserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,18 +11,28 @@ import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
-@Transactional
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final AppUserRepository repository;
+    private final PrincipalCache principalCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
-        // Called automatically by Spring Security during authentication (login process)
-        return repository.findByEmail(email)
+        // Called by JwtAuthFilter on every authenticated request -> served from cache when possible
+        AppUserPrincipal cached = principalCache.get(email);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        // Enabled/locked are decided here: read the row, not this node's second-level cache
+        AppUserPrincipal principal = repository.findCurrentByEmail(email)
+                .map(AppUserPrincipal::from)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
 
-        // If found, the user is returned as UserDetails for authentication
+        principalCache.put(principal);
+
+        return principal;
     }
 }
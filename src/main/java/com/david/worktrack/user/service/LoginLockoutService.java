@@ -0,0 +1,91 @@
+package com.david.worktrack.user.service;
+
+import com.david.worktrack.common.exception.BusinessException;
+import com.david.worktrack.common.exception.TooManyRequestsException;
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.repository.AppUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Locks an account for `duration` after `max-attempts` consecutive wrong passwords.
+ * The temporary lock only blocks password checks (login, change password); it does not touch
+ * the `locked` flag, which also rejects existing access tokens: someone guessing a password must
+ * not be able to log the owner out. Metric: auth.login.lockouts.
+ */
+@Service
+@Transactional
+public class LoginLockoutService {
+
+    private final AppUserRepository repository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int maxAttempts;
+    private final Duration duration;
+    private final Counter lockouts;
+
+    public LoginLockoutService(AppUserRepository repository,
+                               EntityManagerFactory entityManagerFactory,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.security.lockout.max-attempts:5}") int maxAttempts,
+                               @Value("${app.security.lockout.duration:15m}") Duration duration) {
+
+        this.repository = repository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.maxAttempts = maxAttempts;
+        this.duration = duration;
+        this.lockouts = Counter.builder("auth.login.lockouts").register(meterRegistry);
+    }
+
+    // Before the password is hashed: a locked account costs no BCrypt work
+    public void ensureNotLocked(AppUser appUser) {
+
+        if (appUser.isLocked()) {
+            throw new BusinessException("Account locked");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (appUser.getLockedUntil() != null && appUser.getLockedUntil().isAfter(now)) {
+            throw new TooManyRequestsException("Too many failed login attempts, try again later",
+                    Duration.between(now, appUser.getLockedUntil()));
+        }
+    }
+
+    // One short statement in its own transaction. The caller holds no transaction while hashing, so a
+    // wrong password never needs a second connection while the first is still open
+    public void recordFailure(Long userId) {
+
+        repository.recordFailedLogin(userId, maxAttempts, LocalDateTime.now().plus(duration))
+                .filter(attempts -> attempts == 0)
+                .ifPresent(lockedOut -> lockouts.increment());
+
+        evictCached(userId);
+    }
+
+    // `appUser` is the copy the password was checked against: nothing is written for a clean account
+    public void recordSuccess(AppUser appUser) {
+
+        if (appUser.getFailedLoginAttempts() == 0 && appUser.getLockedUntil() == null) {
+            return;
+        }
+
+        repository.clearFailedLogins(appUser.getId());
+        // Keep the caller's copy in line with the row, it is still used for the rest of the login
+        appUser.setFailedLoginAttempts(0);
+        appUser.setLockedUntil(null);
+
+        evictCached(appUser.getId());
+    }
+
+    // The counters were written past Hibernate: drop this user's cache entry so that it is reloaded
+    private void evictCached(Long userId) {
+
+        entityManagerFactory.getCache().evict(AppUser.class, userId);
+    }
+}
@@ -7,11 +7,16 @@ import com.david.worktrack.user.entity.AppUser;
 import com.david.worktrack.user.entity.AppUserRole;
 import com.david.worktrack.common.exception.BusinessException;
 import com.david.worktrack.common.exception.ResourceNotFoundException;
+import com.david.worktrack.security.password.PasswordHasher;
+import com.david.worktrack.security.principal.PrincipalCache;
 import com.david.worktrack.user.repository.AppUserRepository;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -21,7 +26,10 @@ import java.util.Optional;
 public class UserService {
 
     private final AppUserRepository repository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final PrincipalCache principalCache;
+    private final LoginLockoutService loginLockoutService;
+    private final EntityManager entityManager;
 
     public void enableAppUser(String email) {
         AppUser appUser = getUserByEmailOrThrow(email);
@@ -29,14 +37,31 @@ public class UserService {
         appUser.setEnabled(true);
         appUser.setVerified(true);
         repository.save(appUser);
+
+        principalCache.evict(email);
     }
 
-    // Returns user or throws exception if not found (required use cases like authentication)
+    // Returns user or throws exception if not found (required use cases like authentication).
+    // Not read-only on purpose: login must see an account confirmed a moment ago, so it reads the primary,
+    // and the database row rather than this instance's second-level cache
     public AppUser getUserByEmailOrThrow(String email) {
-        return repository.findByEmail(email)
+        return repository.findCurrentByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found: " + email));
     }
 
+    // May run on a replica: what it loads is not put in the second-level cache, which would keep a lagging copy
+    @Transactional(readOnly = true)
+    public AppUser getUserByIdOrThrow(Long id) {
+        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        return repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + id));
+    }
+
+    // Lazy reference for associations (no SELECT), e.g. the owner of a new JobApplication
+    public AppUser getUserReference(Long id) {
+        return repository.getReferenceById(id);
+    }
+
     public void checkEmailExistsOrThrow(String email) {
 
         if (repository.findByEmail(email).isPresent()) {
@@ -70,33 +95,68 @@ public class UserService {
         appUser.setPassword(encodePassword(newPassword));
 
         repository.save(appUser);
+
+        principalCache.evict(appUser.getEmail());
     }
 
-    public void validatePassword(String rawPassword, String encodedPassword) {
+    // Counts toward the temporary lockout; a locked account is turned away before any hashing.
+    // No transaction around the hash: a connection held across BCrypt would be a second one for recordFailure
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void validatePassword(AppUser appUser, String rawPassword) {
+
+        loginLockoutService.ensureNotLocked(appUser);
 
-        if (!bCryptPasswordEncoder.matches(rawPassword, encodedPassword)) {
+        if (!passwordHasher.matches(rawPassword, appUser.getPassword())) {
+            loginLockoutService.recordFailure(appUser.getId());
             throw new BusinessException("Invalid credentials");
         }
+
+        loginLockoutService.recordSuccess(appUser);
     }
 
     public String encodePassword(String password) {
 
-        return bCryptPasswordEncoder.encode(password);
+        return passwordHasher.encode(password);
     }
 
-    public void updateProfileName(UpdateProfileRequest request, AppUser appUser) {
+    // Called after a successful login: upgrades hashes made with an older cost factor
+    public void rehashPasswordIfNeeded(AppUser appUser, String rawPassword) {
 
-        appUser.setDisplayName(request.getName());
+        if (passwordHasher.needsRehash(appUser.getPassword())) {
+            repository.updatePasswordHash(appUser.getId(), encodePassword(rawPassword));
+            evictCachedUser(appUser.getId());
+        }
+    }
 
-        repository.save(appUser);
+    public void updateProfileName(UpdateProfileRequest request, Long userId) {
+
+        if (repository.updateDisplayName(userId, request.getName()) == 0) {
+            throw new ResourceNotFoundException("User not found: " + userId);
+        }
     }
 
-    public void changePassword(ChangePasswordRequest request, AppUser appUser) {
+    // Not transactional for the same reason as validatePassword: the read, the check and the write are each short,
+    // and the new hash is computed before the write opens its transaction
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void changePassword(ChangePasswordRequest request, Long userId) {
 
-        validatePassword(request.getCurrentPassword(), appUser.getPassword());
+        AppUser appUser = repository.findCurrentById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+
+        validatePassword(appUser, request.getCurrentPassword());
+
+        String password = encodePassword(request.getNewPassword());
+        repository.updatePasswordHash(userId, password)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+
+        evictCachedUser(userId);
+        principalCache.evict(appUser.getEmail());
+    }
 
-        updatePassword(appUser, request.getNewPassword());
+    // After a write past Hibernate: drop this user's second-level cache entry so that it is reloaded
+    private void evictCachedUser(Long userId) {
 
+        entityManager.getEntityManagerFactory().getCache().evict(AppUser.class, userId);
     }
 
 }
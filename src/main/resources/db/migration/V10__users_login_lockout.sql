@@ -0,0 +1,6 @@
+-- Temporary lockout after repeated wrong passwords (LoginLockoutService).
+-- failed_login_attempts counts consecutive failures and is reset by a successful login or a lockout;
+-- locked_until is the end of the current lockout. The `locked` flag stays the permanent, admin-set lock.
+ALTER TABLE users
+    ADD COLUMN failed_login_attempts integer NOT NULL DEFAULT 0,
+    ADD COLUMN locked_until          timestamp;
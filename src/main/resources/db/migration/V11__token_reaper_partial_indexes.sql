@@ -0,0 +1,6 @@
+-- TokenReaper deletes expired tokens and used ones in separate statements, so that each can use an index:
+-- expired rows come from the existing expiry indexes, used / confirmed rows from these partial ones.
+-- A partial index only holds the rows waiting to be purged, so it stays small.
+CREATE INDEX idx_refresh_token_used ON refresh_token (id) WHERE used;
+CREATE INDEX idx_password_reset_token_used ON password_reset_token (id) WHERE used;
+CREATE INDEX idx_confirmation_token_confirmed ON confirmation_token (id) WHERE confirmed_at IS NOT NULL;
@@ -0,0 +1,90 @@
+-- Schema as previously generated by Hibernate (ddl-auto: create-drop)
+
+CREATE SEQUENCE user_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE confirmation_token_sequence START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE refresh_token_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id            bigint       NOT NULL,
+    email         varchar(255) NOT NULL,
+    password      varchar(255),
+    display_name  varchar(255),
+    app_user_role varchar(255),
+    verified      boolean      NOT NULL,
+    locked        boolean      NOT NULL,
+    enabled       boolean      NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT ck_users_app_user_role CHECK (app_user_role IN ('USER', 'ADMIN'))
+);
+
+CREATE TABLE confirmation_token (
+    id           bigint       NOT NULL,
+    token        varchar(255) NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    expires_at   timestamp(6) NOT NULL,
+    confirmed_at timestamp(6),
+    app_user_id  bigint       NOT NULL,
+    CONSTRAINT pk_confirmation_token PRIMARY KEY (id),
+    CONSTRAINT fk_confirmation_token_user FOREIGN KEY (app_user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_confirmation_token_expires_at ON confirmation_token (expires_at);
+
+CREATE TABLE password_reset_token (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY,
+    token       varchar(255),
+    user_id     bigint       NOT NULL,
+    expiry_date timestamp(6),
+    used        boolean      NOT NULL,
+    CONSTRAINT pk_password_reset_token PRIMARY KEY (id),
+    CONSTRAINT fk_password_reset_token_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_password_reset_token_expiry_date ON password_reset_token (expiry_date);
+
+CREATE TABLE refresh_token (
+    id          bigint       NOT NULL,
+    app_user_id bigint,
+    token       varchar(255),
+    expiry_date timestamp(6),
+    used        boolean      NOT NULL,
+    CONSTRAINT pk_refresh_token PRIMARY KEY (id),
+    CONSTRAINT fk_refresh_token_user FOREIGN KEY (app_user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_refresh_token_expiry_date ON refresh_token (expiry_date);
+
+CREATE TABLE job_application (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY,
+    company_name varchar(255),
+    position     varchar(255),
+    status       varchar(255),
+    applied_date date         NOT NULL,
+    notes        varchar(2000),
+    user_id      bigint,
+    CONSTRAINT pk_job_application PRIMARY KEY (id),
+    CONSTRAINT fk_job_application_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_job_application_user_applied
+    ON job_application (user_id, applied_date DESC, id DESC);
+CREATE INDEX idx_job_application_user_status_applied
+    ON job_application (user_id, status, applied_date DESC, id DESC);
+
+CREATE TABLE email_outbox (
+    id              bigint GENERATED BY DEFAULT AS IDENTITY,
+    recipient       varchar(255) NOT NULL,
+    subject         varchar(255) NOT NULL,
+    body            text         NOT NULL,
+    status          varchar(16)  NOT NULL,
+    attempts        integer      NOT NULL,
+    next_attempt_at timestamp(6) NOT NULL,
+    last_error      varchar(1000),
+    created_at      timestamp(6) NOT NULL,
+    sent_at         timestamp(6),
+    CONSTRAINT pk_email_outbox PRIMARY KEY (id),
+    CONSTRAINT ck_email_outbox_status CHECK (status IN ('PENDING', 'SENT', 'DEAD'))
+);
+
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
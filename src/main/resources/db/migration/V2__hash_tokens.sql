@@ -0,0 +1,23 @@
+-- Store SHA-256(token) in a unique bytea column instead of the raw UUID string,
+-- so every lookup is a unique index probe and a database leak exposes no usable tokens.
+-- Outstanding tokens keep working: their hash is computed from the stored value.
+
+ALTER TABLE confirmation_token ADD COLUMN token_hash bytea;
+UPDATE confirmation_token SET token_hash = sha256(convert_to(token, 'UTF8'));
+ALTER TABLE confirmation_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE confirmation_token DROP COLUMN token;
+ALTER TABLE confirmation_token ADD CONSTRAINT uk_confirmation_token_token_hash UNIQUE (token_hash);
+
+DELETE FROM password_reset_token WHERE token IS NULL;
+ALTER TABLE password_reset_token ADD COLUMN token_hash bytea;
+UPDATE password_reset_token SET token_hash = sha256(convert_to(token, 'UTF8'));
+ALTER TABLE password_reset_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE password_reset_token DROP COLUMN token;
+ALTER TABLE password_reset_token ADD CONSTRAINT uk_password_reset_token_token_hash UNIQUE (token_hash);
+
+DELETE FROM refresh_token WHERE token IS NULL;
+ALTER TABLE refresh_token ADD COLUMN token_hash bytea;
+UPDATE refresh_token SET token_hash = sha256(convert_to(token, 'UTF8'));
+ALTER TABLE refresh_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE refresh_token DROP COLUMN token;
+ALTER TABLE refresh_token ADD CONSTRAINT uk_refresh_token_token_hash UNIQUE (token_hash);
@@ -0,0 +1,6 @@
+-- Refresh token rotation inserts the replacement token from SQL (one CTE with the revoking UPDATE),
+-- which cannot share Hibernate's pooled refresh_token_seq allocation -> use an identity column.
+
+ALTER TABLE refresh_token ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;
+SELECT setval(pg_get_serial_sequence('refresh_token', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM refresh_token;
+DROP SEQUENCE refresh_token_seq;
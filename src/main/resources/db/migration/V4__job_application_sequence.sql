@@ -0,0 +1,7 @@
+-- job_application ids come from a pooled sequence (allocationSize 50) instead of an identity column,
+-- so Hibernate can batch inserts. Hibernate's pooled optimizer treats each nextval as the top of a
+-- block of 50 ids, so the first value handed out must be at least MAX(id) + 50.
+
+ALTER TABLE job_application ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE job_application_sequence START WITH 1 INCREMENT BY 50;
+SELECT setval('job_application_sequence', COALESCE(MAX(id), 0) + 50, false) FROM job_application;
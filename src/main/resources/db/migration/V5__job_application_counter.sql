@@ -0,0 +1,18 @@
+-- Per-user counters behind GET /api/v1/applications/stats: one row per (user, status, month of applied_date).
+-- Kept up to date by JobApplicationService in the same transaction as each write; a null status counts as
+-- 'UNSPECIFIED'. JobApplicationStatsRepairJob recomputes them from job_application to fix any drift.
+
+CREATE TABLE job_application_counter (
+    user_id bigint       NOT NULL,
+    status  varchar(255) NOT NULL,
+    month   date         NOT NULL,
+    count   bigint       NOT NULL,
+    CONSTRAINT pk_job_application_counter PRIMARY KEY (user_id, status, month),
+    CONSTRAINT fk_job_application_counter_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+INSERT INTO job_application_counter (user_id, status, month, count)
+SELECT user_id, COALESCE(status, 'UNSPECIFIED'), date_trunc('month', applied_date)::date, count(*)
+FROM job_application
+WHERE user_id IS NOT NULL
+GROUP BY 1, 2, 3;
@@ -0,0 +1,18 @@
+-- Full-text search over company, position and notes (GET /api/v1/applications/search).
+-- 'simple' config: no stemming or stop words, company names and tech terms are matched as typed
+-- (lower-cased). A generated column is recomputed by Postgres on every INSERT/UPDATE, so the
+-- application never writes it. Weights rank company/position matches above notes.
+
+ALTER TABLE job_application
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(company_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(position, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(notes, '')), 'C')
+    ) STORED;
+
+-- btree_gin lets user_id live in the same GIN index: one index scan finds the user's matching rows
+-- instead of intersecting a user_id btree with a global text index
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+CREATE INDEX idx_job_application_user_search
+    ON job_application USING gin (user_id, search_vector);
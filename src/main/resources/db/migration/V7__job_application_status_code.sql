@@ -0,0 +1,48 @@
+-- job_application.status: free-form varchar -> smallint code of com.david.worktrack.job.entity.ApplicationStatus
+-- (1 APPLIED, 2 INTERVIEW, 3 OFFER, 4 ACCEPTED, 5 REJECTED, 6 WITHDRAWN).
+-- Known names are matched case-insensitively; null, blank and unknown values become APPLIED.
+-- Unknown values are kept verbatim in legacy_status and counted in the migration log (Flyway "DB:" line),
+-- so they can be reviewed and re-mapped; legacy_status is not mapped by the application.
+-- ALTER ... TYPE rewrites the table once and rebuilds its indexes, including
+-- idx_job_application_user_status_applied, now on a 2-byte status instead of a varchar.
+
+ALTER TABLE job_application ADD COLUMN legacy_status varchar(255);
+
+UPDATE job_application
+SET legacy_status = status
+WHERE trim(status) <> ''
+  AND upper(trim(status)) NOT IN ('APPLIED', 'INTERVIEW', 'OFFER', 'ACCEPTED', 'REJECTED', 'WITHDRAWN');
+
+DO $$
+DECLARE
+    remapped bigint;
+BEGIN
+    SELECT count(*) INTO remapped FROM job_application WHERE legacy_status IS NOT NULL;
+    RAISE NOTICE 'V7: % job applications had an unknown status, now APPLIED; the old value is in legacy_status', remapped;
+END
+$$;
+
+ALTER TABLE job_application
+    ALTER COLUMN status TYPE smallint USING
+        CASE upper(trim(status))
+            WHEN 'INTERVIEW' THEN 2
+            WHEN 'OFFER' THEN 3
+            WHEN 'ACCEPTED' THEN 4
+            WHEN 'REJECTED' THEN 5
+            WHEN 'WITHDRAWN' THEN 6
+            ELSE 1
+        END,
+    ALTER COLUMN status SET NOT NULL,
+    ADD CONSTRAINT ck_job_application_status CHECK (status BETWEEN 1 AND 6);
+
+-- Counters are keyed by the same code; rebuilt since UNSPECIFIED and unknown values were merged into APPLIED
+TRUNCATE job_application_counter;
+
+ALTER TABLE job_application_counter
+    ALTER COLUMN status TYPE smallint USING 1;
+
+INSERT INTO job_application_counter (user_id, status, month, count)
+SELECT user_id, status, date_trunc('month', applied_date)::date, count(*)
+FROM job_application
+WHERE user_id IS NOT NULL
+GROUP BY 1, 2, 3;
@@ -0,0 +1,14 @@
+-- Conditional requests (ETag / If-None-Match / If-Match) on /api/v1/applications.
+-- job_application.version: optimistic-lock version of one application (JPA @Version), bumped by every update.
+-- job_application_collection_version: one counter per user, bumped by every write to that user's applications,
+-- so "has anything changed since ETag X" is a primary-key lookup. A missing row means version 0.
+
+ALTER TABLE job_application
+    ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+CREATE TABLE job_application_collection_version (
+    user_id bigint NOT NULL,
+    version bigint NOT NULL,
+    CONSTRAINT pk_job_application_collection_version PRIMARY KEY (user_id),
+    CONSTRAINT fk_job_application_collection_version_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,3 @@
+-- Admin user listing filtered by role (GET /api/v1/admin/users?role=ADMIN), in id order.
+-- Sorting by id or email already uses the primary key / uk_users_email.
+CREATE INDEX idx_users_role_id ON users (app_user_role, id);
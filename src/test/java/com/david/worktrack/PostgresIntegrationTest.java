@@ -0,0 +1,24 @@
+package com.david.worktrack;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Base for tests that need the real schema and Postgres behaviour (locking, CTEs, SKIP LOCKED).
+ * One container (same image as docker-compose) is shared by every subclass and migrated by Flyway
+ * on context start. Without Docker the tests are skipped rather than failed.
+ */
+@SpringBootTest(properties = {
+        "app.tokens.reaper.enabled=false",
+        "app.applications.stats.repair.enabled=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16");
+}
@@ -0,0 +1,47 @@
+package com.david.worktrack.admin;
+
+import com.david.worktrack.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdminUserCursorTest {
+
+    @Test
+    void decodeReturnsTheEncodedPosition() {
+
+        AdminUserCursor cursor = new AdminUserCursor("ana@example.com", 9_007_199_254_740_993L);
+
+        assertThat(AdminUserCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void emailMayContainTheSeparator() {
+
+        AdminUserCursor cursor = new AdminUserCursor("\"a:b\"@example.com", 5L);
+
+        assertThat(AdminUserCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+
+        assertThat(new AdminUserCursor("zoë+tag@example.com", Long.MAX_VALUE).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+
+        assertThatThrownBy(() -> AdminUserCursor.decode("not base64!")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> AdminUserCursor.decode(base64("ana@example.com"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> AdminUserCursor.decode(base64("ana@example.com:abc"))).isInstanceOf(BusinessException.class);
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
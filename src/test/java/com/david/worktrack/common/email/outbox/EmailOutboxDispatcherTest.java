@@ -0,0 +1,160 @@
+package com.david.worktrack.common.email.outbox;
+
+import com.david.worktrack.common.email.SmtpEmailSender;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Real SMTP (GreenMail) through SmtpEmailSender; the outbox table is mocked
+class EmailOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(1);
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private final EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = dispatcherSendingTo(smtp.getSmtp().getPort());
+    }
+
+    @Test
+    void sendsTheWholeBatchAndMarksItSent() throws Exception {
+
+        List<EmailOutboxMessage> batch = List.of(message(1L, "a@x.io", 0), message(2L, "b@x.io", 0), message(3L, "c@x.io", 0));
+        queue(batch);
+
+        dispatcher.dispatch();
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received[0].getAllRecipients()[0].toString()).isEqualTo("a@x.io");
+
+        ArgumentCaptor<Collection<Long>> sent = idsCaptor();
+        verify(repository).markSent(sent.capture(), any());
+        assertThat(sent.getValue()).containsExactly(1L, 2L, 3L);
+        verify(repository, never()).markFailed(any(), any(), anyInt(), any(), anyString());
+    }
+
+    @Test
+    void failedSendIsRetriedWithExponentialBackoff() throws Exception {
+
+        dispatcher = dispatcherSendingTo(closedPort());
+        queue(List.of(message(1L, "a@x.io", 0), message(2L, "b@x.io", 1)));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).markFailed(eq(1L), eq(EmailOutboxStatus.PENDING), eq(1), nextAttempt.capture(), anyString());
+        assertThat(nextAttempt.getValue()).isBetween(before.plus(INITIAL_BACKOFF), LocalDateTime.now().plus(INITIAL_BACKOFF));
+
+        verify(repository).markFailed(eq(2L), eq(EmailOutboxStatus.PENDING), eq(2), nextAttempt.capture(), anyString());
+        assertThat(nextAttempt.getValue()).isAfterOrEqualTo(before.plus(INITIAL_BACKOFF.multipliedBy(2)));
+
+        verify(repository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void backoffIsCappedAndTheLastAttemptGoesToDead() throws Exception {
+
+        dispatcher = dispatcherSendingTo(closedPort());
+        queue(List.of(message(1L, "a@x.io", MAX_ATTEMPTS - 1)));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatch();
+
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).markFailed(eq(1L), eq(EmailOutboxStatus.DEAD), eq(MAX_ATTEMPTS), nextAttempt.capture(), anyString());
+        assertThat(nextAttempt.getValue()).isBetween(before.plus(MAX_BACKOFF), LocalDateTime.now().plus(MAX_BACKOFF));
+    }
+
+    @Test
+    void fullBatchesAreDrainedUntilTheQueueIsEmpty() {
+
+        List<EmailOutboxMessage> first = new ArrayList<>();
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            first.add(message(id, "user" + id + "@x.io", 0));
+        }
+        when(repository.findDueForUpdate(any(), eq(BATCH_SIZE)))
+                .thenReturn(first, List.of(message(99L, "last@x.io", 0)), List.of());
+
+        dispatcher.dispatch();
+
+        assertThat(smtp.getReceivedMessages()).hasSize(BATCH_SIZE + 1);
+        verify(repository, times(2)).markSent(any(), any());
+    }
+
+    private EmailOutboxDispatcher dispatcherSendingTo(int port) {
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+
+        // concurrency 1: the mocked queue is not SKIP LOCKED
+        return new EmailOutboxDispatcher(repository, new SmtpEmailSender(mailSender), mock(PlatformTransactionManager.class),
+                BATCH_SIZE, 1, MAX_ATTEMPTS, INITIAL_BACKOFF, MAX_BACKOFF, Duration.ofMinutes(5));
+    }
+
+    private void queue(List<EmailOutboxMessage> batch) {
+        when(repository.findDueForUpdate(any(), eq(BATCH_SIZE))).thenReturn(batch, List.of());
+    }
+
+    private static EmailOutboxMessage message(Long id, String recipient, int attempts) {
+
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Subject " + id)
+                .body("<p>Body " + id + "</p>")
+                .status(EmailOutboxStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static int closedPort() throws Exception {
+
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<Collection<Long>> idsCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+}
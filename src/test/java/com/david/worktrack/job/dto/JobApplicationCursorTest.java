@@ -0,0 +1,43 @@
+package com.david.worktrack.job.dto;
+
+import com.david.worktrack.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobApplicationCursorTest {
+
+    @Test
+    void decodeReturnsTheEncodedPosition() {
+
+        JobApplicationCursor cursor = new JobApplicationCursor(LocalDate.of(2024, 2, 29), 9_007_199_254_740_993L);
+
+        assertThat(JobApplicationCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+
+        String encoded = new JobApplicationCursor(LocalDate.of(2025, 12, 31), Long.MAX_VALUE).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+
+        assertThatThrownBy(() -> JobApplicationCursor.decode("not base64!")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationCursor.decode(base64("2025-01-01"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationCursor.decode(base64("2025-13-01:5"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationCursor.decode(base64("2025-01-01:abc"))).isInstanceOf(BusinessException.class);
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
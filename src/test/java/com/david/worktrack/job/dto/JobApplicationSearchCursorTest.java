@@ -0,0 +1,63 @@
+package com.david.worktrack.job.dto;
+
+import com.david.worktrack.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobApplicationSearchCursorTest {
+
+    @Test
+    void rankedCursorRoundTripsTheExactRank() {
+
+        JobApplicationSearchCursor cursor = JobApplicationSearchCursor.byRank(0.0607927f, 9_007_199_254_740_993L);
+
+        JobApplicationSearchCursor decoded = JobApplicationSearchCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.ranked()).isTrue();
+    }
+
+    @Test
+    void newestFirstCursorRoundTrips() {
+
+        JobApplicationSearchCursor cursor = JobApplicationSearchCursor.byDate(LocalDate.of(2024, 2, 29), 42L);
+
+        JobApplicationSearchCursor decoded = JobApplicationSearchCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.ranked()).isFalse();
+    }
+
+    @Test
+    void cursorsIssuedBeforeNewestFirstPagingStillDecode() {
+
+        assertThat(JobApplicationSearchCursor.decode(base64("0.5:7"))).isEqualTo(JobApplicationSearchCursor.byRank(0.5f, 7L));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+
+        assertThat(JobApplicationSearchCursor.byRank(Float.MIN_VALUE, Long.MAX_VALUE).encode()).matches("[A-Za-z0-9_-]+");
+        assertThat(JobApplicationSearchCursor.byDate(LocalDate.of(2025, 12, 31), Long.MAX_VALUE).encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+
+        assertThatThrownBy(() -> JobApplicationSearchCursor.decode("not base64!")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationSearchCursor.decode(base64("0.5"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationSearchCursor.decode(base64("abc:5"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationSearchCursor.decode(base64("0.5:abc"))).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationSearchCursor.decode(base64("d2025-13-01:5"))).isInstanceOf(BusinessException.class);
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
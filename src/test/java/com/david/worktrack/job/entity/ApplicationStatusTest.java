@@ -0,0 +1,72 @@
+package com.david.worktrack.job.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.Arrays;
+
+import static com.david.worktrack.job.entity.ApplicationStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplicationStatusTest {
+
+    @Test
+    void openStatusesMoveForwardOrClose() {
+
+        assertThat(APPLIED.canTransitionTo(INTERVIEW)).isTrue();
+        assertThat(APPLIED.canTransitionTo(OFFER)).isTrue();
+        assertThat(INTERVIEW.canTransitionTo(OFFER)).isTrue();
+        assertThat(OFFER.canTransitionTo(ACCEPTED)).isTrue();
+        assertThat(APPLIED.canTransitionTo(REJECTED)).isTrue();
+        assertThat(INTERVIEW.canTransitionTo(WITHDRAWN)).isTrue();
+        assertThat(OFFER.canTransitionTo(REJECTED)).isTrue();
+    }
+
+    @Test
+    void statusesNeverMoveBackwardsOrSkipToAccepted() {
+
+        assertThat(INTERVIEW.canTransitionTo(APPLIED)).isFalse();
+        assertThat(OFFER.canTransitionTo(INTERVIEW)).isFalse();
+        assertThat(APPLIED.canTransitionTo(ACCEPTED)).isFalse();
+        assertThat(INTERVIEW.canTransitionTo(ACCEPTED)).isFalse();
+    }
+
+    @ParameterizedTest
+    @EnumSource(names = {"ACCEPTED", "REJECTED", "WITHDRAWN"})
+    void finalStatusesOnlyAllowTheSameStatusAgain(ApplicationStatus status) {
+
+        assertThat(Arrays.stream(values()).filter(status::canTransitionTo)).containsExactly(status);
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void settingTheCurrentStatusAgainIsAllowed(ApplicationStatus status) {
+
+        assertThat(status.canTransitionTo(status)).isTrue();
+    }
+
+    @Test
+    void codesAllowedBeforeListsEveryStatusThatMayMoveToTheTarget() {
+
+        assertThat(codesAllowedBefore(APPLIED)).containsExactlyInAnyOrder(APPLIED.code());
+        assertThat(codesAllowedBefore(ACCEPTED)).containsExactlyInAnyOrder(OFFER.code(), ACCEPTED.code());
+        assertThat(codesAllowedBefore(OFFER)).containsExactlyInAnyOrder(APPLIED.code(), INTERVIEW.code(), OFFER.code());
+        assertThat(codesAllowedBefore(REJECTED))
+                .containsExactlyInAnyOrder(APPLIED.code(), INTERVIEW.code(), OFFER.code(), REJECTED.code());
+    }
+
+    @ParameterizedTest
+    @EnumSource
+    void codesRoundTrip(ApplicationStatus status) {
+
+        assertThat(fromCode(status.code())).isEqualTo(status);
+    }
+
+    @Test
+    void unknownCodeIsRejected() {
+
+        assertThatThrownBy(() -> fromCode((short) 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.common.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JobApplicationSearchQueryTest {
+
+    @Test
+    void everyWordBecomesARequiredPrefix() {
+
+        assertThat(JobApplicationService.toPrefixTsQuery("goo eng")).isEqualTo("goo:* & eng:*");
+    }
+
+    @Test
+    void tsQueryOperatorsAreStripped() {
+
+        assertThat(JobApplicationService.toPrefixTsQuery("!java | (spring & boot):* <-> 'x'"))
+                .isEqualTo("java:* & spring:* & boot:* & x:*");
+    }
+
+    @Test
+    void lettersAndDigitsOfAnyScriptAreKept() {
+
+        assertThat(JobApplicationService.toPrefixTsQuery("Zürich C3PO 東京")).isEqualTo("Zürich:* & C3PO:* & 東京:*");
+    }
+
+    @Test
+    void termCountIsCapped() {
+
+        String query = JobApplicationService.toPrefixTsQuery("a b c d e f g h i j k");
+
+        assertThat(query.split(" & ")).hasSize(JobApplicationService.MAX_SEARCH_TERMS);
+        assertThat(query).startsWith("a:* & ").endsWith("h:*");
+    }
+
+    @Test
+    void rejectsQueriesWithoutWords() {
+
+        assertThatThrownBy(() -> JobApplicationService.toPrefixTsQuery(null)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationService.toPrefixTsQuery("   ")).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> JobApplicationService.toPrefixTsQuery("&|!():*"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Search query must contain a letter or digit");
+    }
+}
@@ -0,0 +1,94 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.job.entity.ApplicationStatus;
+import com.david.worktrack.job.entity.JobApplication;
+import com.david.worktrack.job.repository.JobApplicationChange;
+import com.david.worktrack.job.repository.JobApplicationStatsRepository;
+import com.david.worktrack.job.repository.JobApplicationStatsRepository.Counter;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.david.worktrack.job.entity.ApplicationStatus.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+// Counter rows are always written in (status, month) order, so two writers of one user cannot deadlock on them
+class JobApplicationStatsServiceTest {
+
+    private static final Long USER_ID = 3L;
+
+    private final JobApplicationStatsRepository repository = mock(JobApplicationStatsRepository.class);
+    private final JobApplicationStatsService service = new JobApplicationStatsService(repository);
+
+    @Test
+    void singleChangeMovingToAnEarlierCounterWritesItFirst() {
+
+        service.recordChange(USER_ID, change(REJECTED, LocalDate.of(2025, 3, 9), APPLIED, LocalDate.of(2025, 3, 20)));
+
+        assertThat(written()).containsExactly(
+                new Counter(APPLIED, LocalDate.of(2025, 3, 1), 1),
+                new Counter(REJECTED, LocalDate.of(2025, 3, 1), -1));
+    }
+
+    @Test
+    void changeWithinTheSameCounterWritesNothing() {
+
+        service.recordChange(USER_ID, change(OFFER, LocalDate.of(2025, 3, 9), OFFER, LocalDate.of(2025, 3, 28)));
+
+        verify(repository, never()).add(eq(USER_ID), anyList());
+    }
+
+    @Test
+    void deleteOnlyDecrements() {
+
+        service.recordChange(USER_ID, change(OFFER, LocalDate.of(2025, 3, 9), null, null));
+
+        assertThat(written()).containsExactly(new Counter(OFFER, LocalDate.of(2025, 3, 1), -1));
+    }
+
+    @Test
+    void createdBatchIsCountedPerCounterInOrder() {
+
+        service.recordCreated(USER_ID, List.of(
+                application(WITHDRAWN, LocalDate.of(2024, 1, 5)),
+                application(APPLIED, LocalDate.of(2025, 2, 1)),
+                application(APPLIED, LocalDate.of(2024, 12, 31)),
+                application(APPLIED, LocalDate.of(2025, 2, 14))));
+
+        assertThat(written()).containsExactly(
+                new Counter(APPLIED, LocalDate.of(2024, 12, 1), 1),
+                new Counter(APPLIED, LocalDate.of(2025, 2, 1), 2),
+                new Counter(WITHDRAWN, LocalDate.of(2024, 1, 1), 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Counter> written() {
+
+        ArgumentCaptor<List<Counter>> counters = ArgumentCaptor.forClass(List.class);
+        verify(repository).add(eq(USER_ID), counters.capture());
+        return counters.getValue();
+    }
+
+    private static JobApplication application(ApplicationStatus status, LocalDate appliedDate) {
+        return JobApplication.builder().status(status).appliedDate(appliedDate).build();
+    }
+
+    private static JobApplicationChange change(ApplicationStatus oldStatus, LocalDate oldAppliedDate,
+                                               ApplicationStatus newStatus, LocalDate newAppliedDate) {
+
+        return new JobApplicationChange() {
+            public Short getOldStatus() { return oldStatus.code(); }
+            public LocalDate getOldAppliedDate() { return oldAppliedDate; }
+            public Short getNewStatus() { return newStatus == null ? null : newStatus.code(); }
+            public LocalDate getNewAppliedDate() { return newAppliedDate; }
+            public Long getNewVersion() { return 1L; }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.david.worktrack.job.service;
+
+import com.david.worktrack.common.exception.ConflictException;
+import com.david.worktrack.common.exception.PreconditionFailedException;
+import com.david.worktrack.common.exception.ResourceNotFoundException;
+import com.david.worktrack.job.dto.UpdateJobStatusRequest;
+import com.david.worktrack.job.entity.ApplicationStatus;
+import com.david.worktrack.job.repository.JobApplicationCollectionVersionRepository;
+import com.david.worktrack.job.repository.JobApplicationRepository;
+import com.david.worktrack.job.repository.JobApplicationSearchRepository;
+import com.david.worktrack.user.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The guarded UPDATE touched no row: the service tells 404, 412 and 409 apart from the row's current state
+class JobApplicationStatusUpdateTest {
+
+    private static final Long ID = 7L;
+    private static final Long USER_ID = 3L;
+
+    private final JobApplicationRepository repository = mock(JobApplicationRepository.class);
+
+    private JobApplicationService service;
+
+    @BeforeEach
+    void setUp() {
+
+        service = new JobApplicationService(repository, mock(UserService.class), mock(JobApplicationStatsService.class),
+                mock(JobApplicationSearchRepository.class), mock(JobApplicationCollectionVersionRepository.class),
+                mock(JobApplicationListCache.class));
+
+        when(repository.updateStatusOwned(anyLong(), anyLong(), anyShort(), any(), any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void missingOrForeignApplicationIsNotFound() {
+
+        when(repository.findStateOwned(ID, USER_ID)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.updateJobStatus(ID, request(ApplicationStatus.OFFER), USER_ID, new Long[]{1L}))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void staleIfMatchIsAPreconditionFailureEvenWhenTheTransitionIsAlsoInvalid() {
+
+        currentState(ApplicationStatus.REJECTED, 4L);
+
+        assertThatThrownBy(() -> service.updateJobStatus(ID, request(ApplicationStatus.OFFER), USER_ID, new Long[]{2L, 3L}))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessageContaining("current version is 4");
+    }
+
+    @Test
+    void disallowedTransitionIsAConflict() {
+
+        currentState(ApplicationStatus.REJECTED, 4L);
+
+        assertThatThrownBy(() -> service.updateJobStatus(ID, request(ApplicationStatus.OFFER), USER_ID, new Long[]{4L}))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Cannot change status from REJECTED to OFFER");
+    }
+
+    @Test
+    void withoutIfMatchOnlyTheTransitionIsChecked() {
+
+        currentState(ApplicationStatus.ACCEPTED, 9L);
+
+        assertThatThrownBy(() -> service.updateJobStatus(ID, request(ApplicationStatus.WITHDRAWN), USER_ID, null))
+                .isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void updateIsGuardedByTheStatusesAllowedBeforeTheTarget() {
+
+        currentState(ApplicationStatus.APPLIED, 1L);
+
+        assertThatThrownBy(() -> service.updateJobStatus(ID, request(ApplicationStatus.ACCEPTED), USER_ID, null))
+                .isInstanceOf(ConflictException.class);
+
+        verify(repository).updateStatusOwned(eq(ID), eq(USER_ID), eq(ApplicationStatus.ACCEPTED.code()),
+                eq(ApplicationStatus.codesAllowedBefore(ApplicationStatus.ACCEPTED)), eq(null));
+    }
+
+    private void currentState(ApplicationStatus status, Long version) {
+        when(repository.findStateOwned(ID, USER_ID)).thenReturn(Optional.of(new JobApplicationRepository.CurrentState(status, version)));
+    }
+
+    private static UpdateJobStatusRequest request(ApplicationStatus status) {
+
+        UpdateJobStatusRequest request = new UpdateJobStatusRequest();
+        request.setStatus(status);
+        return request;
+    }
+}
@@ -0,0 +1,91 @@
+package com.david.worktrack.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StripedRateLimiterTest {
+
+    // One token every 100 ms, 3 back to back
+    private static final int PERMITS = 10;
+    private static final Duration PERIOD = Duration.ofSeconds(1);
+    private static final Duration INTERVAL = PERIOD.dividedBy(PERMITS);
+    private static final int BURST = 3;
+
+    @Test
+    void burstIsAllowedThenTheKeyIsLimited() {
+
+        StripedRateLimiter limiter = new StripedRateLimiter(PERMITS, PERIOD, BURST, 1024, 2);
+
+        for (int i = 0; i < BURST; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void retryAfterIsAtMostOneIntervalAndRejectionsTakeNoToken() {
+
+        StripedRateLimiter limiter = new StripedRateLimiter(PERMITS, PERIOD, BURST, 1024, 2);
+        exhaust(limiter, "10.0.0.1");
+
+        Duration first = limiter.tryAcquire("10.0.0.1");
+        Duration second = limiter.tryAcquire("10.0.0.1");
+
+        assertThat(first).isPositive().isLessThanOrEqualTo(INTERVAL);
+        // Had the first rejection taken a token, the wait would have grown by a whole interval
+        assertThat(second).isPositive().isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void bucketRefillsOverTime() throws InterruptedException {
+
+        StripedRateLimiter limiter = new StripedRateLimiter(PERMITS, PERIOD, BURST, 1024, 2);
+        exhaust(limiter, "10.0.0.1");
+
+        Duration wait = limiter.tryAcquire("10.0.0.1");
+        Thread.sleep(wait.toMillis() + 20);
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void keysAreLimitedIndependently() {
+
+        StripedRateLimiter limiter = new StripedRateLimiter(PERMITS, PERIOD, BURST, 1024, 2);
+        exhaust(limiter, "10.0.0.1");
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+    }
+
+    @Test
+    void keysSharingEveryCellAreLimitedTogether() {
+
+        // One slot per row: every key collides, so the second one finds the bucket already empty
+        StripedRateLimiter limiter = new StripedRateLimiter(PERMITS, PERIOD, BURST, 1, 2);
+        exhaust(limiter, "10.0.0.1");
+
+        assertThat(limiter.tryAcquire("10.0.0.2")).isPositive();
+    }
+
+    @Test
+    void nonPositiveSettingsAreRejected() {
+
+        assertThatThrownBy(() -> new StripedRateLimiter(0, PERIOD, BURST, 1024, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new StripedRateLimiter(PERMITS, PERIOD, 0, 1024, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void exhaust(StripedRateLimiter limiter, String key) {
+
+        for (int i = 0; i < BURST; i++) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+        }
+    }
+}
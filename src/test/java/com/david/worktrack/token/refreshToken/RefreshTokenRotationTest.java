@@ -0,0 +1,86 @@
+package com.david.worktrack.token.refreshToken;
+
+import com.david.worktrack.PostgresIntegrationTest;
+import com.david.worktrack.common.exception.InvalidTokenException;
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.entity.AppUserRole;
+import com.david.worktrack.user.repository.AppUserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenRotationTest extends PostgresIntegrationTest {
+
+    private static final int CONCURRENT_REFRESHES = 8;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    @Test
+    void concurrentRotationsOfTheSameTokenHaveExactlyOneWinner() throws Exception {
+
+        AppUser appUser = appUserRepository.save(AppUser.builder()
+                .email("rotate-" + UUID.randomUUID() + "@x.io")
+                .password("unused")
+                .displayName("Rotate")
+                .appUserRole(AppUserRole.USER)
+                .enabled(true)
+                .verified(true)
+                .build());
+        String token = refreshTokenService.createRefreshToken(appUser);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RotatedRefreshToken>> attempts = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(CONCURRENT_REFRESHES)) {
+            for (int i = 0; i < CONCURRENT_REFRESHES; i++) {
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    return refreshTokenService.rotateRefreshToken(token);
+                }));
+            }
+            start.countDown();
+        }
+
+        List<RotatedRefreshToken> rotated = new ArrayList<>();
+        List<Throwable> rejected = new ArrayList<>();
+        for (Future<RotatedRefreshToken> attempt : attempts) {
+            try {
+                rotated.add(attempt.get());
+            } catch (ExecutionException e) {
+                rejected.add(e.getCause());
+            }
+        }
+
+        assertThat(rotated).hasSize(1);
+        assertThat(rotated.get(0).owner().id()).isEqualTo(appUser.getId());
+        assertThat(rejected)
+                .hasSize(CONCURRENT_REFRESHES - 1)
+                .allSatisfy(e -> assertThat(e)
+                        .isInstanceOf(InvalidTokenException.class)
+                        .hasMessage("Refresh token already used"));
+
+        // The old token is revoked and exactly one replacement was issued
+        List<RefreshToken> tokens = refreshTokenRepository.findAll().stream()
+                .filter(t -> t.getAppUser().getId().equals(appUser.getId()))
+                .toList();
+        assertThat(tokens).hasSize(2);
+        assertThat(tokens).filteredOn(t -> !t.isUsed()).hasSize(1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.david.worktrack.user.service;
+
+import com.david.worktrack.common.exception.BusinessException;
+import com.david.worktrack.common.exception.TooManyRequestsException;
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.repository.AppUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The counting itself is the UPDATE in AppUserRepository.recordFailedLogin; the repository is mocked here
+class LoginLockoutServiceTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final Duration DURATION = Duration.ofMinutes(15);
+    private static final Long USER_ID = 7L;
+
+    private final AppUserRepository repository = mock(AppUserRepository.class);
+    private final Cache cache = mock(Cache.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoginLockoutService service;
+
+    @BeforeEach
+    void setUp() {
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        service = new LoginLockoutService(repository, entityManagerFactory, meterRegistry, MAX_ATTEMPTS, DURATION);
+    }
+
+    @Test
+    void failureBelowTheLimitIsCountedWithoutLockout() {
+
+        when(repository.recordFailedLogin(eq(USER_ID), eq(MAX_ATTEMPTS), any())).thenReturn(Optional.of(3));
+
+        service.recordFailure(USER_ID);
+
+        assertThat(lockouts()).isZero();
+        verify(cache).evict(AppUser.class, USER_ID);
+    }
+
+    @Test
+    void failureThatReachesTheLimitStartsALockout() {
+
+        when(repository.recordFailedLogin(eq(USER_ID), eq(MAX_ATTEMPTS), any())).thenReturn(Optional.of(0));
+
+        LocalDateTime before = LocalDateTime.now();
+        service.recordFailure(USER_ID);
+
+        ArgumentCaptor<LocalDateTime> lockedUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).recordFailedLogin(eq(USER_ID), eq(MAX_ATTEMPTS), lockedUntil.capture());
+        assertThat(lockedUntil.getValue()).isBetween(before.plus(DURATION), LocalDateTime.now().plus(DURATION));
+        assertThat(lockouts()).isEqualTo(1);
+        verify(cache).evict(AppUser.class, USER_ID);
+    }
+
+    @Test
+    void lockedOutAccountIsRejectedWithRetryAfter() {
+
+        AppUser appUser = user(0, LocalDateTime.now().plus(DURATION));
+
+        assertThatThrownBy(() -> service.ensureNotLocked(appUser))
+                .isInstanceOfSatisfying(TooManyRequestsException.class, e ->
+                        assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(DURATION));
+    }
+
+    @Test
+    void expiredLockoutNoLongerRejects() {
+
+        AppUser appUser = user(0, LocalDateTime.now().minusSeconds(1));
+
+        assertThatCode(() -> service.ensureNotLocked(appUser)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void lockedFlagIsRejectedRegardlessOfTheCounters() {
+
+        AppUser appUser = user(0, null);
+        appUser.setLocked(true);
+
+        assertThatThrownBy(() -> service.ensureNotLocked(appUser))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Account locked");
+    }
+
+    @Test
+    void successResetsTheCountersInTheRowAndTheCopy() {
+
+        AppUser appUser = user(4, LocalDateTime.now().minusMinutes(1));
+
+        service.recordSuccess(appUser);
+
+        verify(repository).clearFailedLogins(USER_ID);
+        verify(cache).evict(AppUser.class, USER_ID);
+        assertThat(appUser.getFailedLoginAttempts()).isZero();
+        assertThat(appUser.getLockedUntil()).isNull();
+    }
+
+    @Test
+    void successOnACleanAccountWritesNothing() {
+
+        service.recordSuccess(user(0, null));
+
+        verify(repository, never()).clearFailedLogins(anyLong());
+        verify(repository, never()).recordFailedLogin(anyLong(), anyInt(), any());
+        verify(cache, never()).evict(any(), any());
+    }
+
+    private double lockouts() {
+        return meterRegistry.get("auth.login.lockouts").counter().count();
+    }
+
+    private static AppUser user(int failedLoginAttempts, LocalDateTime lockedUntil) {
+
+        AppUser appUser = new AppUser();
+        appUser.setId(USER_ID);
+        appUser.setFailedLoginAttempts(failedLoginAttempts);
+        appUser.setLockedUntil(lockedUntil);
+        return appUser;
+    }
+}
@@ -0,0 +1,84 @@
+package com.david.worktrack.user.service;
+
+import com.david.worktrack.PostgresIntegrationTest;
+import com.david.worktrack.common.exception.BusinessException;
+import com.david.worktrack.common.exception.TooManyRequestsException;
+import com.david.worktrack.user.entity.AppUser;
+import com.david.worktrack.user.entity.AppUserRole;
+import com.david.worktrack.user.repository.AppUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Default settings: 5 wrong passwords in a row lock the account
+class PasswordLockoutTest extends PostgresIntegrationTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final String PASSWORD = "Passw0rd!";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AppUserRepository appUserRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+
+        userId = appUserRepository.save(AppUser.builder()
+                .email("lockout-" + UUID.randomUUID() + "@x.io")
+                .password(userService.encodePassword(PASSWORD))
+                .displayName("Lockout")
+                .appUserRole(AppUserRole.USER)
+                .enabled(true)
+                .verified(true)
+                .build()).getId();
+    }
+
+    @Test
+    void consecutiveWrongPasswordsLockTheAccount() {
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            assertThatThrownBy(() -> userService.validatePassword(current(), "wrong"))
+                    .isInstanceOf(BusinessException.class)
+                    .hasMessage("Invalid credentials");
+        }
+
+        AppUser locked = current();
+        assertThat(locked.getFailedLoginAttempts()).isZero();
+        assertThat(locked.getLockedUntil()).isNotNull();
+
+        // Even the right password is turned away until the lockout ends
+        assertThatThrownBy(() -> userService.validatePassword(current(), PASSWORD))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void correctPasswordResetsTheCount() {
+
+        for (int i = 0; i < MAX_ATTEMPTS - 1; i++) {
+            assertThatThrownBy(() -> userService.validatePassword(current(), "wrong"))
+                    .isInstanceOf(BusinessException.class);
+        }
+        assertThat(current().getFailedLoginAttempts()).isEqualTo(MAX_ATTEMPTS - 1);
+
+        userService.validatePassword(current(), PASSWORD);
+        assertThat(current().getFailedLoginAttempts()).isZero();
+
+        assertThatThrownBy(() -> userService.validatePassword(current(), "wrong"))
+                .isInstanceOf(BusinessException.class);
+        assertThatCode(() -> userService.validatePassword(current(), PASSWORD)).doesNotThrowAnyException();
+    }
+
+    private AppUser current() {
+        return appUserRepository.findCurrentById(userId).orElseThrow();
+    }
+}